@@ -0,0 +1,135 @@
+package com.thairam.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.thairam.minhasfinancas.MinhasfinancasApplication;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.service.LancamentoService;
+import com.thairam.minhasfinancas.service.SaldoService;
+import com.thairam.minhasfinancas.service.UsuarioService;
+
+/**
+ * Sobe a aplicação com o perfil de teste (H2 em memória) e popula a base com
+ * {@code quantidadeLancamentos} lançamentos distribuídos entre {@link #QUANTIDADE_USUARIOS} usuários.
+ */
+@State(Scope.Benchmark)
+public class AmbienteBenchmark {
+
+	static final int QUANTIDADE_USUARIOS = 100;
+	static final String SENHA = "senha";
+	static final int ANO_INICIAL = 2010;
+	static final int QUANTIDADE_ANOS = 10;
+
+	private static final int TAMANHO_LOTE_CARGA = 5_000;
+	private static final Date DATA_CADASTRO = Date.valueOf("2020-01-01");
+	private static final String[] DESCRICOES = {
+			"Mercado", "Aluguel", "Salario", "Energia", "Agua", "Internet", "Restaurante", "Farmacia", "Combustivel", "Academia" };
+
+	@Param({ "10000", "100000", "1000000" })
+	int quantidadeLancamentos;
+
+	ConfigurableApplicationContext contexto;
+	LancamentoService lancamentoService;
+	SaldoService saldoService;
+	UsuarioService usuarioService;
+	List<Usuario> usuarios;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.profiles("test")
+				.properties(
+						"server.port=0",
+						"spring.datasource.url=jdbc:h2:mem:benchmark" + quantidadeLancamentos
+								+ ";DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+						"spring.jpa.properties.hibernate.generate_statistics=false",
+						"logging.level.root=WARN")
+				.run();
+
+		lancamentoService = contexto.getBean(LancamentoService.class);
+		saldoService = contexto.getBean(SaldoService.class);
+		usuarioService = contexto.getBean(UsuarioService.class);
+
+		usuarios = new ArrayList<>();
+		for(int i = 0; i < QUANTIDADE_USUARIOS; i++) {
+			usuarios.add(usuarioService.salvarUsuario(Usuario.builder()
+					.nome("usuario" + i)
+					.email(email(i))
+					.senha(SENHA)
+					.build()));
+		}
+		popularLancamentos(contexto.getBean(JdbcTemplate.class));
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	Usuario usuarioAleatorio() {
+		return usuarios.get(ThreadLocalRandom.current().nextInt(usuarios.size()));
+	}
+
+	static String email(int indice) {
+		return "usuario" + indice + "@benchmark.com";
+	}
+
+	static String descricaoAleatoria() {
+		return DESCRICOES[ThreadLocalRandom.current().nextInt(DESCRICOES.length)];
+	}
+
+	private void popularLancamentos(JdbcTemplate jdbcTemplate) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE_CARGA);
+		for(long id = 1; id <= quantidadeLancamentos; id++) {
+			Usuario usuario = usuarios.get((int) (id % usuarios.size()));
+			lote.add(new Object[] {
+					id,
+					descricaoAleatoria() + " " + id,
+					1 + random.nextInt(12),
+					ANO_INICIAL + random.nextInt(QUANTIDADE_ANOS),
+					usuario.getId(),
+					BigDecimal.valueOf(random.nextInt(1, 500_000), 2),
+					DATA_CADASTRO,
+					random.nextBoolean() ? "RECEITA" : "DESPESA",
+					random.nextInt(3) == 0 ? "PENDENTE" : "EFETIVADO",
+					0L });
+			if(lote.size() == TAMANHO_LOTE_CARGA) {
+				inserir(jdbcTemplate, lote);
+			}
+		}
+		inserir(jdbcTemplate, lote);
+
+		jdbcTemplate.execute("ALTER SEQUENCE financas.lancamento_seq RESTART WITH " + (quantidadeLancamentos + 1));
+		jdbcTemplate.update("INSERT INTO financas.saldo_usuario (id_usuario, receitas, despesas) "
+				+ "SELECT id_usuario, "
+				+ "SUM(CASE WHEN tipo = 'RECEITA' THEN valor ELSE 0 END), "
+				+ "SUM(CASE WHEN tipo = 'DESPESA' THEN valor ELSE 0 END) "
+				+ "FROM financas.lancamento WHERE status = 'EFETIVADO' GROUP BY id_usuario");
+	}
+
+	private static void inserir(JdbcTemplate jdbcTemplate, List<Object[]> lote) {
+		if(lote.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO financas.lancamento "
+				+ "(id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status, versao) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", lote);
+		lote.clear();
+	}
+}
@@ -0,0 +1,83 @@
+package com.thairam.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Slice;
+
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LancamentoBenchmark {
+
+	private static final int TAMANHO_PAGINA = 50;
+
+	@Benchmark
+	public Lancamento salvar(AmbienteBenchmark ambiente) {
+		Lancamento lancamento = Lancamento.builder()
+				.descricao(AmbienteBenchmark.descricaoAleatoria())
+				.mes(1 + ThreadLocalRandom.current().nextInt(12))
+				.ano(AmbienteBenchmark.ANO_INICIAL + ThreadLocalRandom.current().nextInt(AmbienteBenchmark.QUANTIDADE_ANOS))
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.DESPESA)
+				.usuario(ambiente.usuarioAleatorio())
+				.build();
+		return ambiente.lancamentoService.salvar(lancamento);
+	}
+
+	@Benchmark
+	public List<Lancamento> buscarPorUsuarioEAno(AmbienteBenchmark ambiente) {
+		Lancamento filtro = Lancamento.builder()
+				.usuario(ambiente.usuarioAleatorio())
+				.ano(anoAleatorio())
+				.build();
+		return ambiente.lancamentoService.buscar(filtro);
+	}
+
+	@Benchmark
+	public Slice<LancamentoResumo> pesquisarPrimeiraPagina(AmbienteBenchmark ambiente) {
+		LancamentoFiltro filtro = LancamentoFiltro.builder()
+				.usuario(ambiente.usuarioAleatorio().getId())
+				.build();
+		return ambiente.lancamentoService.pesquisar(filtro, TAMANHO_PAGINA);
+	}
+
+	@Benchmark
+	public Slice<LancamentoResumo> pesquisarPorDescricao(AmbienteBenchmark ambiente) {
+		LancamentoFiltro filtro = LancamentoFiltro.builder()
+				.usuario(ambiente.usuarioAleatorio().getId())
+				.descricao(AmbienteBenchmark.descricaoAleatoria())
+				.build();
+		return ambiente.lancamentoService.pesquisar(filtro, TAMANHO_PAGINA);
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuario(AmbienteBenchmark ambiente) {
+		return ambiente.lancamentoService.obterSaldoPorUsuario(ambiente.usuarioAleatorio().getId());
+	}
+
+	@Benchmark
+	public BigDecimal calcularSaldoPorAgregacao(AmbienteBenchmark ambiente) {
+		return ambiente.saldoService.calcularSaldo(ambiente.usuarioAleatorio().getId());
+	}
+
+	private static int anoAleatorio() {
+		return AmbienteBenchmark.ANO_INICIAL + ThreadLocalRandom.current().nextInt(AmbienteBenchmark.QUANTIDADE_ANOS);
+	}
+}
@@ -0,0 +1,28 @@
+package com.thairam.minhasfinancas.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thairam.minhasfinancas.model.entity.Usuario;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UsuarioBenchmark {
+
+	@Benchmark
+	public Usuario autenticar(AmbienteBenchmark ambiente) {
+		int indice = ThreadLocalRandom.current().nextInt(AmbienteBenchmark.QUANTIDADE_USUARIOS);
+		return ambiente.usuarioService.autenticar(AmbienteBenchmark.email(indice), AmbienteBenchmark.SENHA);
+	}
+}
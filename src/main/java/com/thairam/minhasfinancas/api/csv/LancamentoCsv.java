@@ -0,0 +1,98 @@
+package com.thairam.minhasfinancas.api.csv;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.thairam.minhasfinancas.api.dto.LancamentoDTO;
+import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+
+public final class LancamentoCsv {
+
+	public static final String SEPARADOR = ";";
+	public static final String CABECALHO = "id;descricao;mes;ano;valor;tipo;status";
+	
+	private LancamentoCsv() {
+	}
+	
+	public static String linha(LancamentoResumo lancamento) {
+		return new StringBuilder()
+				.append(lancamento.getId()).append(SEPARADOR)
+				.append(escapar(lancamento.getDescricao())).append(SEPARADOR)
+				.append(lancamento.getMes()).append(SEPARADOR)
+				.append(lancamento.getAno()).append(SEPARADOR)
+				.append(lancamento.getValor().toPlainString()).append(SEPARADOR)
+				.append(lancamento.getTipo()).append(SEPARADOR)
+				.append(lancamento.getStatus())
+				.toString();
+	}
+	
+	/** lê uma linha no formato de {@link #CABECALHO}; a coluna id é ignorada */
+	public static LancamentoDTO ler(String linha, Long usuario) {
+		List<String> colunas = separarColunas(linha);
+		if(colunas.size() != 7) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.LINHA_CSV_INVALIDA);
+		}
+		try {
+			return LancamentoDTO.builder()
+					.descricao(colunas.get(1))
+					.mes(inteiro(colunas.get(2)))
+					.ano(inteiro(colunas.get(3)))
+					.valor(colunas.get(4).trim().isEmpty() ? null : new BigDecimal(colunas.get(4).trim().replace(',', '.')))
+					.tipo(textoOuNulo(colunas.get(5)))
+					.status(textoOuNulo(colunas.get(6)))
+					.usuario(usuario)
+					.build();
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.LINHA_CSV_INVALIDA);
+		}
+	}
+	
+	private static List<String> separarColunas(String linha) {
+		List<String> colunas = new ArrayList<>();
+		StringBuilder coluna = new StringBuilder();
+		boolean entreAspas = false;
+		for(int i = 0; i < linha.length(); i++) {
+			char caractere = linha.charAt(i);
+			if(entreAspas) {
+				if(caractere == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+					coluna.append('"');
+					i++;
+				} else if(caractere == '"') {
+					entreAspas = false;
+				} else {
+					coluna.append(caractere);
+				}
+			} else if(caractere == '"') {
+				entreAspas = true;
+			} else if(SEPARADOR.charAt(0) == caractere) {
+				colunas.add(coluna.toString());
+				coluna.setLength(0);
+			} else {
+				coluna.append(caractere);
+			}
+		}
+		colunas.add(coluna.toString());
+		return colunas;
+	}
+	
+	private static Integer inteiro(String valor) {
+		return valor.trim().isEmpty() ? null : Integer.valueOf(valor.trim());
+	}
+	
+	private static String textoOuNulo(String valor) {
+		return valor.trim().isEmpty() ? null : valor.trim().toUpperCase();
+	}
+	
+	private static String escapar(String valor) {
+		if(valor == null) {
+			return "";
+		}
+		if(valor.contains(SEPARADOR) || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+			return "\"" + valor.replace("\"", "\"\"") + "\"";
+		}
+		return valor;
+	}
+}
@@ -0,0 +1,25 @@
+package com.thairam.minhasfinancas.api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizaStatusLoteDTO {
+
+	private List<Long> ids;
+	private Long usuario;
+	private Integer ano;
+	private Integer mes;
+	private String statusAtual;
+	private String status;
+	/** versão esperada por id, opcional */
+	private Map<Long, Long> versoes;
+}
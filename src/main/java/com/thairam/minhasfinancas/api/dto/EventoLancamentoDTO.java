@@ -0,0 +1,41 @@
+package com.thairam.minhasfinancas.api.dto;
+
+import java.time.LocalDateTime;
+
+import com.thairam.minhasfinancas.model.entity.EventoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoLancamentoDTO {
+
+	private Long posicao;
+	private String operacao;
+	private LocalDateTime dataEvento;
+	private LancamentoDTO lancamento;
+	
+	public static EventoLancamentoDTO de(EventoLancamento evento) {
+		return EventoLancamentoDTO.builder()
+				.posicao(evento.getPosicao())
+				.operacao(evento.getOperacao().name())
+				.dataEvento(evento.getDataEvento())
+				.lancamento(LancamentoDTO.builder()
+						.id(evento.getIdLancamento())
+						.descricao(evento.getDescricao())
+						.valor(evento.getValor())
+						.mes(evento.getMes())
+						.ano(evento.getAno())
+						.status(evento.getStatus() == null ? null : evento.getStatus().name())
+						.tipo(evento.getTipo() == null ? null : evento.getTipo().name())
+						.usuario(evento.getIdUsuario())
+						.versao(evento.getVersao())
+						.build())
+				.build();
+	}
+}
@@ -0,0 +1,29 @@
+package com.thairam.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoRecorrenteDTO {
+
+	private Long id;
+	private String descricao;
+	private BigDecimal valor;
+	private Long usuario;
+	private String tipo;
+	private String frequencia;
+	private Integer mesInicial;
+	private Integer anoInicial;
+	private Integer quantidadeParcelas;
+	private Integer mesFinal;
+	private Integer anoFinal;
+	private Integer proximaParcela;
+	private Boolean ativa;
+}
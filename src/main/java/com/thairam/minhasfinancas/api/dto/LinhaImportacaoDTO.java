@@ -0,0 +1,17 @@
+package com.thairam.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinhaImportacaoDTO {
+
+	private int linha;
+	private Long id;
+	private String erro;
+}
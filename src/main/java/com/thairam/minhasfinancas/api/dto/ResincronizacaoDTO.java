@@ -0,0 +1,16 @@
+package com.thairam.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResincronizacaoDTO {
+
+	private String mensagem;
+	private String proximoCursor;
+}
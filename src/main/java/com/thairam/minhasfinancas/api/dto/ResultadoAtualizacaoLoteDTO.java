@@ -0,0 +1,16 @@
+package com.thairam.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoAtualizacaoLoteDTO {
+
+	private int atualizados;
+	private List<Long> conflitos;
+}
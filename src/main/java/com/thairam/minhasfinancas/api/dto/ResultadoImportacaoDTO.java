@@ -0,0 +1,19 @@
+package com.thairam.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+
+	private int importados;
+	private int rejeitados;
+	private List<LinhaImportacaoDTO> linhas;
+}
@@ -0,0 +1,232 @@
+package com.thairam.minhasfinancas.api.idempotencia;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thairam.minhasfinancas.messages.IdempotenciaExceptionMessages;
+import com.thairam.minhasfinancas.model.entity.ChaveIdempotencia;
+import com.thairam.minhasfinancas.model.repository.ChaveIdempotenciaRepository;
+
+/**
+ * Executa uma única vez cada requisição de escrita enviada com {@code Idempotency-Key}. A chave é
+ * reservada na mesma transação das alterações, então só a primeira requisição entre as instâncias
+ * grava; as demais recebem a resposta armazenada. Só respostas 2xx são armazenadas: após um erro a
+ * chave pode ser reutilizada. Requisições simultâneas com a mesma chave nesta instância aguardam a
+ * primeira em vez de disputar a reserva no banco, e as respostas recentes ficam em memória até expirar.
+ */
+@Component
+public class RegistroIdempotencia {
+
+	public static final String CABECALHO = "Idempotency-Key";
+	public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+
+	private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+	private final Map<String, Execucao> emAndamento = new ConcurrentHashMap<>();
+	private final Cache<String, ChaveIdempotencia> respostas;
+
+	private ChaveIdempotenciaRepository repository;
+	private ObjectMapper objectMapper;
+	private TransactionTemplate transactionTemplate;
+	private long horasValidade;
+
+	public RegistroIdempotencia(ChaveIdempotenciaRepository repository,
+			ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager,
+			@Value("${minhasfinancas.idempotencia.validade-horas:24}") long horasValidade,
+			@Value("${minhasfinancas.idempotencia.tamanho-cache-bytes:67108864}") long tamanhoCache) {
+		this.repository = repository;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.horasValidade = horasValidade;
+		this.respostas = Caffeine.newBuilder()
+				.maximumWeight(tamanhoCache)
+				.weigher( (String chave, ChaveIdempotencia resposta) -> chave.length()
+						+ (resposta.getCorpo() == null ? 0 : resposta.getCorpo().length()) )
+				.expireAfterWrite(horasValidade, TimeUnit.HOURS)
+				.build();
+	}
+
+	/** sem chave a ação é executada diretamente */
+	public ResponseEntity executar(Long idUsuario, String chave, String operacao, Object requisicao,
+			Supplier<ResponseEntity> acao) {
+		if(chave == null) {
+			return acao.get();
+		}
+		if(chave.trim().isEmpty() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+			return ResponseEntity.badRequest().body(IdempotenciaExceptionMessages.CHAVE_INVALIDA);
+		}
+		
+		String hashRequisicao = calcularHash(requisicao);
+		String chaveCache = idUsuario + ":" + chave;
+		ChaveIdempotencia armazenada = respostas.getIfPresent(chaveCache);
+		if(armazenada != null) {
+			return repetir(armazenada, operacao, hashRequisicao);
+		}
+		
+		Execucao execucao = new Execucao(operacao, hashRequisicao);
+		Execucao anterior = emAndamento.putIfAbsent(chaveCache, execucao);
+		if(anterior != null) {
+			return aguardar(anterior, chaveCache, operacao, hashRequisicao);
+		}
+		try {
+			ResponseEntity resposta = executarUmaVez(idUsuario, chave, chaveCache, operacao, hashRequisicao, acao);
+			execucao.resposta.complete(resposta);
+			return resposta;
+		} catch (RuntimeException e) {
+			execucao.resposta.completeExceptionally(e);
+			throw e;
+		} finally {
+			emAndamento.remove(chaveCache, execucao);
+		}
+	}
+
+	public int removerExpiradas() {
+		return transactionTemplate.execute(status -> repository.removerExpiradas(LocalDateTime.now()));
+	}
+
+	private ResponseEntity executarUmaVez(Long idUsuario, String chave, String chaveCache, String operacao,
+			String hashRequisicao, Supplier<ResponseEntity> acao) {
+		AtomicReference<ChaveIdempotencia> gravada = new AtomicReference<>();
+		ResponseEntity resposta;
+		try {
+			resposta = transactionTemplate.execute(status -> {
+				LocalDateTime agora = LocalDateTime.now();
+				Optional<ChaveIdempotencia> existente = repository.obterValida(idUsuario, chave, agora);
+				if(existente.isPresent()) {
+					gravada.set(existente.get());
+					return null;
+				}
+				repository.removerExpirada(idUsuario, chave, agora);
+				repository.reservar(idUsuario, chave, operacao, hashRequisicao, agora.plusHours(horasValidade));
+				
+				ResponseEntity respostaAcao = acao.get();
+				if(!respostaAcao.getStatusCode().is2xxSuccessful()) {
+					status.setRollbackOnly();
+					return respostaAcao;
+				}
+				String corpo = serializar(respostaAcao.getBody());
+				repository.registrarResposta(idUsuario, chave, respostaAcao.getStatusCodeValue(), corpo);
+				gravada.set(ChaveIdempotencia.builder()
+						.idUsuario(idUsuario)
+						.chave(chave)
+						.operacao(operacao)
+						.hashRequisicao(hashRequisicao)
+						.status(respostaAcao.getStatusCodeValue())
+						.corpo(corpo)
+						.build());
+				return respostaAcao;
+			});
+		} catch (DataIntegrityViolationException e) {
+			// reservada por outra instância, que já concluiu a transação
+			ChaveIdempotencia existente = transactionTemplate.execute(status -> 
+					repository.obterValida(idUsuario, chave, LocalDateTime.now()).orElse(null));
+			if(existente == null) {
+				throw e;
+			}
+			respostas.put(chaveCache, existente);
+			return repetir(existente, operacao, hashRequisicao);
+		}
+		
+		if(gravada.get() == null) {
+			return resposta;
+		}
+		respostas.put(chaveCache, gravada.get());
+		return resposta == null ? repetir(gravada.get(), operacao, hashRequisicao) : resposta;
+	}
+
+	private ResponseEntity aguardar(Execucao anterior, String chaveCache, String operacao, String hashRequisicao) {
+		if(!anterior.operacao.equals(operacao) || !anterior.hashRequisicao.equals(hashRequisicao)) {
+			return chaveReutilizada();
+		}
+		ResponseEntity resposta;
+		try {
+			resposta = anterior.resposta.join();
+		} catch (CompletionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		ChaveIdempotencia armazenada = respostas.getIfPresent(chaveCache);
+		return armazenada == null ? resposta : repetir(armazenada, operacao, hashRequisicao);
+	}
+
+	private ResponseEntity repetir(ChaveIdempotencia armazenada, String operacao, String hashRequisicao) {
+		if(!armazenada.getOperacao().equals(operacao) || !armazenada.getHashRequisicao().equals(hashRequisicao)) {
+			return chaveReutilizada();
+		}
+		ResponseEntity.BodyBuilder resposta = ResponseEntity.status(armazenada.getStatus())
+				.header(CABECALHO_REPETIDA, "true");
+		if(armazenada.getCorpo() == null) {
+			return resposta.build();
+		}
+		return resposta.contentType(MediaType.APPLICATION_JSON).body(armazenada.getCorpo());
+	}
+
+	private static ResponseEntity chaveReutilizada() {
+		return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+				.body(IdempotenciaExceptionMessages.CHAVE_REUTILIZADA);
+	}
+
+	private String serializar(Object corpo) {
+		if(corpo == null) {
+			return null;
+		}
+		try {
+			return objectMapper.writeValueAsString(corpo);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private String calcularHash(Object requisicao) {
+		try {
+			byte[] conteudo = requisicao instanceof byte[] 
+					? (byte[]) requisicao 
+					: objectMapper.writeValueAsBytes(requisicao);
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(conteudo);
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class Execucao {
+
+		private final String operacao;
+		private final String hashRequisicao;
+		private final CompletableFuture<ResponseEntity> resposta = new CompletableFuture<>();
+
+		private Execucao(String operacao, String hashRequisicao) {
+			this.operacao = operacao;
+			this.hashRequisicao = hashRequisicao;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.thairam.minhasfinancas.api.resources;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thairam.minhasfinancas.config.TimeoutTransmissaoInterceptor;
+import com.thairam.minhasfinancas.security.ChaveBackofficeFilter;
+import com.thairam.minhasfinancas.service.LancamentoService;
+
+import lombok.RequiredArgsConstructor;
+
+/** rotas de uso interno, autenticadas pela chave de back-office em {@link ChaveBackofficeFilter} */
+@RestController
+@RequestMapping(ChaveBackofficeFilter.URL_BACKOFFICE)
+@RequiredArgsConstructor
+public class BackofficeController {
+
+	private final LancamentoService lancamentoService;
+	private final ObjectMapper objectMapper;
+	
+	@GetMapping("/saldos")
+	public ResponseEntity<StreamingResponseBody> obterSaldos(
+			@RequestParam(value = "ids", required = false) List<Long> idsUsuarios) {
+		return transmitirSaldos(idsUsuarios);
+	}
+	
+	@PostMapping("/saldos")
+	public ResponseEntity<StreamingResponseBody> obterSaldosPorIds(@RequestBody List<Long> idsUsuarios) {
+		return transmitirSaldos(idsUsuarios);
+	}
+	
+	private ResponseEntity<StreamingResponseBody> transmitirSaldos(List<Long> idsUsuarios) {
+		StreamingResponseBody corpo = saida -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+			lancamentoService.obterSaldosConsolidados(idsUsuarios, saldo -> {
+				try {
+					writer.write(objectMapper.writeValueAsString(saldo));
+					writer.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			writer.flush();
+		};
+		
+		TimeoutTransmissaoInterceptor.habilitar();
+		return ResponseEntity.ok()
+				.contentType(new MediaType("application", "x-ndjson"))
+				.body(corpo);
+	}
+}
@@ -1,31 +1,72 @@
 package com.thairam.minhasfinancas.api.resources;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thairam.minhasfinancas.api.csv.LancamentoCsv;
 
 import com.thairam.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.thairam.minhasfinancas.api.dto.AtualizaStatusLoteDTO;
+import com.thairam.minhasfinancas.api.dto.EventoLancamentoDTO;
 import com.thairam.minhasfinancas.api.dto.LancamentoDTO;
+import com.thairam.minhasfinancas.api.dto.LinhaImportacaoDTO;
+import com.thairam.minhasfinancas.api.dto.PaginaDTO;
+import com.thairam.minhasfinancas.api.dto.ResincronizacaoDTO;
+import com.thairam.minhasfinancas.api.dto.ResultadoAtualizacaoLoteDTO;
+import com.thairam.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+import com.thairam.minhasfinancas.api.idempotencia.RegistroIdempotencia;
+import com.thairam.minhasfinancas.config.TimeoutTransmissaoInterceptor;
+import com.thairam.minhasfinancas.exceptions.CursorExpiradoException;
 import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.exceptions.VersaoDesatualizadaException;
 import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
-import com.thairam.minhasfinancas.messages.UsuarioExceptionMessages;
+import com.thairam.minhasfinancas.model.entity.EventoLancamento;
 import com.thairam.minhasfinancas.model.entity.Lancamento;
 import com.thairam.minhasfinancas.model.entity.Usuario;
 import com.thairam.minhasfinancas.model.enums.StatusLancamento;
 import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.filter.CursorLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+import com.thairam.minhasfinancas.model.projection.ResultadoAtualizacaoLote;
+import com.thairam.minhasfinancas.security.JwtTokenFilter;
+import com.thairam.minhasfinancas.security.UsuarioAutenticado;
+import com.thairam.minhasfinancas.service.EventoLancamentoService;
 import com.thairam.minhasfinancas.service.LancamentoService;
-import com.thairam.minhasfinancas.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,71 +75,310 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LancamentoController {
 
+	private static final int LIMITE_IMPORTACAO = 100_000;
+	
 	private final LancamentoService lancamentoService;
-	private final UsuarioService usuarioService;
+	private final EventoLancamentoService eventoLancamentoService;
+	private final ObjectMapper objectMapper;
+	private final ThreadPoolTaskExecutor consultasExecutor;
+	private final RegistroIdempotencia registroIdempotencia;
 	
 	@GetMapping
-	public ResponseEntity buscar(
+	public CompletableFuture<ResponseEntity> buscar(
 			@RequestParam(value = "descricao", required = false) String descricao,
 			@RequestParam(value = "mes", required = false) Integer mes,
 			@RequestParam(value = "ano", required = false) Integer ano,
-			@RequestParam("usuario") Long usuarioId
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado
 			) {
 
-		Lancamento lancamentoFiltro = new Lancamento();
-		lancamentoFiltro.setDescricao(descricao);
-		lancamentoFiltro.setMes(mes);
-		lancamentoFiltro.setAno(ano);
+		LancamentoFiltro filtro = LancamentoFiltro.builder()
+				.usuario(usuarioAutenticado.getId())
+				.descricao(descricao)
+				.mes(mes)
+				.ano(ano)
+				.build();
 		
-		Optional<Usuario> usuario = usuarioService.obterUsuarioPorId(usuarioId);
-		if(!usuario.isPresent()) {
-			return ResponseEntity.badRequest().body(UsuarioExceptionMessages.USUARIO_NAO_ENCONTRADO_PARA_ID_INFORMADO);
-		} else {
-			lancamentoFiltro.setUsuario(usuario.get());
+		return CompletableFuture.supplyAsync( () -> lancamentoService.buscar(filtro)
+						.stream()
+						.map(this::converterResumoParaDTO)
+						.collect(Collectors.toList()), consultasExecutor)
+				.<ResponseEntity>thenApply(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/pesquisa")
+	public ResponseEntity pesquisar(
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestParam(value = "tipo", required = false) TipoLancamento tipo,
+			@RequestParam(value = "status", required = false) StatusLancamento status,
+			@RequestParam(value = "valorMinimo", required = false) BigDecimal valorMinimo,
+			@RequestParam(value = "valorMaximo", required = false) BigDecimal valorMaximo,
+			@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", defaultValue = "50") int tamanho
+			) {
+		try {
+			LancamentoFiltro filtro = LancamentoFiltro.builder()
+					.usuario(usuarioAutenticado.getId())
+					.ano(ano)
+					.mes(mes)
+					.tipo(tipo)
+					.status(status)
+					.valorMinimo(valorMinimo)
+					.valorMaximo(valorMaximo)
+					.descricao(descricao)
+					.cursor(cursor == null ? null : CursorLancamento.decodificar(cursor))
+					.build();
+			
+			Slice<LancamentoResumo> pagina = lancamentoService.pesquisar(filtro, tamanho);
+			List<LancamentoResumo> lancamentos = pagina.getContent();
+			String proximoCursor = pagina.hasNext() 
+					? CursorLancamento.de(lancamentos.get(lancamentos.size() - 1)).codificar() 
+					: null;
+			
+			return ResponseEntity.ok(PaginaDTO.<LancamentoDTO>builder()
+					.itens(lancamentos.stream().map(this::converterResumoParaDTO).collect(Collectors.toList()))
+					.proximoCursor(proximoCursor)
+					.build());
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@GetMapping("/exportar")
+	public ResponseEntity<StreamingResponseBody> exportar(
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado,
+			@RequestParam(value = "formato", defaultValue = "ndjson") String formato
+			) {
+		boolean csv = "csv".equalsIgnoreCase(formato);
+		if(!csv && !"ndjson".equalsIgnoreCase(formato)) {
+			// o corpo também é transmitido: só ResponseEntity<StreamingResponseBody> é tratado de forma assíncrona
+			return ResponseEntity.badRequest()
+					.contentType(new MediaType("text", "plain", StandardCharsets.UTF_8))
+					.body(saida -> saida.write(LancamentoExceptionMessages.FORMATO_EXPORTACAO_INVALIDO
+							.getBytes(StandardCharsets.UTF_8)));
 		}
 		
-		List<Lancamento> lancamentos = lancamentoService.buscar(lancamentoFiltro);
-		return ResponseEntity.ok(lancamentos);
+		StreamingResponseBody corpo = saida -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+			if(csv) {
+				writer.write(LancamentoCsv.CABECALHO);
+				writer.write('\n');
+			}
+			lancamentoService.exportar(usuarioAutenticado.getId(), lancamento -> {
+				try {
+					if(csv) {
+						writer.write(LancamentoCsv.linha(lancamento));
+					} else {
+						writer.write(objectMapper.writeValueAsString(converterResumoParaDTO(lancamento)));
+					}
+					writer.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			writer.flush();
+		};
+		
+		TimeoutTransmissaoInterceptor.habilitar();
+		return ResponseEntity.ok()
+				.contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : new MediaType("application", "x-ndjson"))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=lancamentos." + formato.toLowerCase())
+				.body(corpo);
 	}
 	
-	@GetMapping("{id}")
-	public ResponseEntity obterLancamentoPorId(@PathVariable("id") Long id) {
-		return lancamentoService.obterLancamentoPorId(id)
-					.map(lancamento -> 
-						new ResponseEntity(converterLancamentoParaDTO(lancamento), HttpStatus.OK))
-					.orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND));
+	@GetMapping("/resumo")
+	public ResponseEntity obterResumoMensal(
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado,
+			@RequestParam("anoInicial") Integer anoInicial,
+			@RequestParam(value = "anoFinal", required = false) Integer anoFinal,
+			@RequestParam(value = "status", required = false) List<StatusLancamento> status
+			) {
+		try {
+			return ResponseEntity.ok(lancamentoService.obterResumoMensal(usuarioAutenticado.getId(), anoInicial, 
+					anoFinal == null ? anoInicial : anoFinal, status));
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 	
-	@PostMapping
-	public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
+	/**
+	 * Feed de alterações do usuário autenticado. O cursor é a posição do último evento recebido
+	 * ({@code proximoCursor}); eventos aparecem após serem publicados pela outbox. Um cursor anterior
+	 * aos eventos retidos recebe 410 com o cursor a usar depois de recarregar os lançamentos.
+	 */
+	@GetMapping("/changes")
+	public ResponseEntity obterAlteracoes(
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado,
+			@RequestParam(value = "since", defaultValue = "0") Long posicao,
+			@RequestParam(value = "tamanho", defaultValue = "100") int tamanho
+			) {
 		try {
-			Lancamento lancamento = converterDtoParaLancamento(dto);
-			lancamento = lancamentoService.salvar(lancamento);
-			return new ResponseEntity(lancamento, HttpStatus.CREATED);		
+			List<EventoLancamento> eventos = eventoLancamentoService
+					.buscarAlteracoes(usuarioAutenticado.getId(), posicao, tamanho);
+			Long ultimaPosicao = eventos.isEmpty() ? posicao : eventos.get(eventos.size() - 1).getPosicao();
+			return ResponseEntity.ok(PaginaDTO.<EventoLancamentoDTO>builder()
+					.itens(eventos.stream().map(EventoLancamentoDTO::de).collect(Collectors.toList()))
+					.proximoCursor(ultimaPosicao.toString())
+					.build());
+		} catch (CursorExpiradoException e) {
+			return ResponseEntity.status(HttpStatus.GONE).body(ResincronizacaoDTO.builder()
+					.mensagem(e.getMessage())
+					.proximoCursor(e.getPosicaoAtual().toString())
+					.build());
 		} catch (RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 	}
 	
-	@PutMapping("{id}")
-	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
-		return lancamentoService.obterLancamentoPorId(id).map( entity -> {
+	@GetMapping("{id}")
+	public ResponseEntity obterLancamentoPorId(@PathVariable("id") Long id, 
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		return lancamentoService.obterResumoPorId(id)
+					.filter(lancamento -> usuarioAutenticado.getId().equals(lancamento.getUsuario()))
+					.<ResponseEntity>map(lancamento -> ResponseEntity.ok()
+						.eTag(etag(lancamento.getVersao()))
+						.body(converterResumoParaDTO(lancamento)))
+					.orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND));
+	}
+	
+	@PostMapping
+	public ResponseEntity salvar(@RequestBody LancamentoDTO dto, 
+			@RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String chaveIdempotencia,
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		return registroIdempotencia.executar(usuarioAutenticado.getId(), chaveIdempotencia, "salvar", dto, () -> {
 			try {
-				Lancamento lancamento = converterDtoParaLancamento(dto);
-				lancamento.setId(entity.getId());
-				lancamentoService.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);				
+				Lancamento lancamento = converterDtoParaLancamento(dto, referenciaUsuario(usuarioAutenticado));
+				lancamento = lancamentoService.salvar(lancamento);
+				return new ResponseEntity(converterLancamentoParaDTO(lancamento), HttpStatus.CREATED);		
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
 			}
-		}).orElseGet( () -> 
-			new ResponseEntity(LancamentoExceptionMessages
-					.LANCAMENTO_NAO_ENCONTRADO, HttpStatus.BAD_REQUEST));
+		});
+	}
+	
+	@PostMapping("/importacao")
+	public ResponseEntity importar(@RequestBody List<LancamentoDTO> dtos, 
+			@RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String chaveIdempotencia,
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		if(dtos == null || dtos.isEmpty()) {
+			return ResponseEntity.badRequest().body(LancamentoExceptionMessages.IMPORTACAO_VAZIA);
+		}
+		return registroIdempotencia.executar(usuarioAutenticado.getId(), chaveIdempotencia, "importar", dtos, () -> {
+			try {
+				return ResponseEntity.ok(importarLancamentos(dtos, null, usuarioAutenticado));
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		});
+	}
+	
+	@PostMapping("/importacao/csv")
+	public ResponseEntity importarCsv(
+			@RequestParam("arquivo") MultipartFile arquivo,
+			@RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String chaveIdempotencia,
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado
+			) throws IOException {
+		byte[] conteudo = chaveIdempotencia == null ? null : arquivo.getBytes();
+		return registroIdempotencia.executar(usuarioAutenticado.getId(), chaveIdempotencia, "importarCsv", conteudo, () -> {
+			try {
+				return importarArquivoCsv(arquivo, usuarioAutenticado);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+	
+	private ResponseEntity importarArquivoCsv(MultipartFile arquivo, UsuarioAutenticado usuarioAutenticado) throws IOException {
+		List<LancamentoDTO> dtos = new ArrayList<>();
+		List<Integer> numerosLinha = new ArrayList<>();
+		List<LinhaImportacaoDTO> linhasInvalidas = new ArrayList<>();
+		try(BufferedReader reader = new BufferedReader(
+				new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8))) {
+			String linha = reader.readLine();
+			if(linha != null && !linha.trim().equalsIgnoreCase(LancamentoCsv.CABECALHO)) {
+				return ResponseEntity.badRequest().body(LancamentoExceptionMessages.LINHA_CSV_INVALIDA);
+			}
+			int numeroLinha = 1;
+			while((linha = reader.readLine()) != null) {
+				numeroLinha++;
+				if(linha.trim().isEmpty()) {
+					continue;
+				}
+				try {
+					dtos.add(LancamentoCsv.ler(linha, usuarioAutenticado.getId()));
+					numerosLinha.add(numeroLinha);
+				} catch (RegraNegocioException e) {
+					linhasInvalidas.add(LinhaImportacaoDTO.builder().linha(numeroLinha).erro(e.getMessage()).build());
+				}
+			}
+		}
+		
+		if(dtos.isEmpty() && linhasInvalidas.isEmpty()) {
+			return ResponseEntity.badRequest().body(LancamentoExceptionMessages.IMPORTACAO_VAZIA);
+		}
+		try {
+			ResultadoImportacaoDTO resultado = importarLancamentos(dtos, numerosLinha, usuarioAutenticado);
+			resultado.setRejeitados(resultado.getRejeitados() + linhasInvalidas.size());
+			resultado.getLinhas().addAll(linhasInvalidas);
+			resultado.getLinhas().sort(Comparator.comparingInt(LinhaImportacaoDTO::getLinha));
+			return ResponseEntity.ok(resultado);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@PutMapping("{id}")
+	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto, 
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		try {
+			Lancamento lancamento = converterDtoParaLancamento(dto, referenciaUsuario(usuarioAutenticado));
+			lancamento.setId(id);
+			Long versaoEsperada = ifMatch == null ? dto.getVersao() : versaoDoEtag(ifMatch);
+			return lancamentoService.atualizarSeVersao(lancamento, versaoEsperada)
+					.<ResponseEntity>map(atualizado -> ResponseEntity.ok()
+						.eTag(etag(atualizado.getVersao()))
+						.body(converterLancamentoParaDTO(atualizado)))
+					.orElseGet( () -> new ResponseEntity(LancamentoExceptionMessages
+						.LANCAMENTO_NAO_ENCONTRADO, HttpStatus.BAD_REQUEST));
+		} catch (VersaoDesatualizadaException e) {
+			HttpStatus status = ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED;
+			return ResponseEntity.status(status).body(e.getMessage());
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@PatchMapping("{id}")
+	public ResponseEntity atualizarParcialmente(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto, 
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		try {
+			Lancamento alteracoes = converterDtoParaLancamento(dto, referenciaUsuario(usuarioAutenticado));
+			alteracoes.setId(id);
+			Long versaoEsperada = ifMatch == null ? dto.getVersao() : versaoDoEtag(ifMatch);
+			return lancamentoService.atualizarParcialmente(alteracoes, versaoEsperada)
+					.<ResponseEntity>map(atualizado -> ResponseEntity.ok()
+						.eTag(etag(atualizado.getVersao()))
+						.body(converterLancamentoParaDTO(atualizado)))
+					.orElseGet( () -> new ResponseEntity(LancamentoExceptionMessages
+						.LANCAMENTO_NAO_ENCONTRADO, HttpStatus.BAD_REQUEST));
+		} catch (VersaoDesatualizadaException e) {
+			HttpStatus status = ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED;
+			return ResponseEntity.status(status).body(e.getMessage());
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 	
 	@PutMapping("{id}/atualiza-status")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
-		return lancamentoService.obterLancamentoPorId(id).map( lancamento -> {
+	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto, 
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		return lancamentoService.obterLancamentoPorId(id)
+				.filter(lancamento -> pertenceAoUsuario(lancamento, usuarioAutenticado))
+				.map( lancamento -> {
 			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
 			if(statusSelecionado == null) {
 				return ResponseEntity.badRequest().body(LancamentoExceptionMessages.STATUS_INVALIDO);
@@ -106,7 +386,7 @@ public class LancamentoController {
 			try {
 				lancamento.setStatus(statusSelecionado);
 				lancamentoService.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);				
+				return ResponseEntity.ok(converterLancamentoParaDTO(lancamento));				
 			} catch (Exception e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
 			}
@@ -115,9 +395,42 @@ public class LancamentoController {
 				.LANCAMENTO_NAO_ENCONTRADO, HttpStatus.BAD_REQUEST));
 	}
 	
+	@PutMapping("/atualiza-status")
+	public ResponseEntity atualizarStatusEmLote(@RequestBody AtualizaStatusLoteDTO dto, 
+			@RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String chaveIdempotencia,
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		StatusLancamento statusSelecionado;
+		StatusLancamento statusAtual;
+		try {
+			statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
+			statusAtual = dto.getStatusAtual() == null ? null : StatusLancamento.valueOf(dto.getStatusAtual());
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return ResponseEntity.badRequest().body(LancamentoExceptionMessages.STATUS_INVALIDO);
+		}
+		
+		LancamentoFiltro filtro = LancamentoFiltro.builder()
+				.ids(dto.getIds())
+				.usuario(usuarioAutenticado.getId())
+				.ano(dto.getAno())
+				.mes(dto.getMes())
+				.status(statusAtual)
+				.build();
+		return registroIdempotencia.executar(usuarioAutenticado.getId(), chaveIdempotencia, "atualizarStatusEmLote", dto, () -> {
+			try {
+				ResultadoAtualizacaoLote resultado = lancamentoService.atualizarStatusEmLote(filtro, dto.getVersoes(), statusSelecionado);
+				return ResponseEntity.ok(new ResultadoAtualizacaoLoteDTO(resultado.getAtualizados(), resultado.getConflitos()));
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		});
+	}
+	
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar(@PathVariable("id") Long id) {
-		return lancamentoService.obterLancamentoPorId(id).map( lancamento -> {
+	public ResponseEntity deletar(@PathVariable("id") Long id, 
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		return lancamentoService.obterLancamentoPorId(id)
+				.filter(lancamento -> pertenceAoUsuario(lancamento, usuarioAutenticado))
+				.map( lancamento -> {
 			lancamentoService.deletar(lancamento);
 			return new ResponseEntity(HttpStatus.NO_CONTENT);
 		}).orElseGet( () -> 
@@ -132,24 +445,107 @@ public class LancamentoController {
 				.valor(lancamento.getValor())
 				.mes(lancamento.getMes())
 				.ano(lancamento.getAno())
-				.status(lancamento.getStatus().name())
-				.tipo(lancamento.getTipo().name())
+				.status(lancamento.getStatus() == null ? null : lancamento.getStatus().name())
+				.tipo(lancamento.getTipo() == null ? null : lancamento.getTipo().name())
 				.usuario(lancamento.getUsuario().getId())
+				.versao(lancamento.getVersao())
 				.build();
 	}
 	
-	private Lancamento converterDtoParaLancamento(LancamentoDTO dto) {
+	private LancamentoDTO converterResumoParaDTO(LancamentoResumo lancamento) {
+		return LancamentoDTO.builder()
+				.id(lancamento.getId())
+				.descricao(lancamento.getDescricao())
+				.valor(lancamento.getValor())
+				.mes(lancamento.getMes())
+				.ano(lancamento.getAno())
+				.status(lancamento.getStatus() == null ? null : lancamento.getStatus().name())
+				.tipo(lancamento.getTipo() == null ? null : lancamento.getTipo().name())
+				.usuario(lancamento.getUsuario())
+				.versao(lancamento.getVersao())
+				.build();
+	}
+	
+	private ResultadoImportacaoDTO importarLancamentos(List<LancamentoDTO> dtos, List<Integer> numerosLinha, 
+			UsuarioAutenticado usuarioAutenticado) {
+		if(dtos.size() > LIMITE_IMPORTACAO) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.IMPORTACAO_EXCEDE_LIMITE);
+		}
+		
+		Usuario usuario = referenciaUsuario(usuarioAutenticado);
+		List<LinhaImportacaoDTO> linhas = new ArrayList<>(dtos.size());
+		List<LinhaImportacaoDTO> linhasValidas = new ArrayList<>(dtos.size());
+		List<Lancamento> lancamentos = new ArrayList<>(dtos.size());
+		
+		for(int i = 0; i < dtos.size(); i++) {
+			LancamentoDTO dto = dtos.get(i);
+			LinhaImportacaoDTO linha = LinhaImportacaoDTO.builder()
+					.linha(numerosLinha == null ? i + 1 : numerosLinha.get(i))
+					.build();
+			linhas.add(linha);
+			try {
+				Lancamento lancamento = converterDtoParaLancamento(dto, usuario);
+				lancamento.setId(null);
+				lancamentoService.validar(lancamento);
+				lancamentos.add(lancamento);
+				linhasValidas.add(linha);
+			} catch (RegraNegocioException | IllegalArgumentException e) {
+				linha.setErro(e.getMessage());
+			}
+		}
+		
+		if(!lancamentos.isEmpty()) {
+			lancamentoService.importar(lancamentos);
+		}
+		for(int i = 0; i < lancamentos.size(); i++) {
+			linhasValidas.get(i).setId(lancamentos.get(i).getId());
+		}
+		
+		return ResultadoImportacaoDTO.builder()
+				.importados(lancamentos.size())
+				.rejeitados(dtos.size() - lancamentos.size())
+				.linhas(linhas)
+				.build();
+	}
+	
+	private static String etag(Long versao) {
+		return "\"" + versao + "\"";
+	}
+	
+	/**
+	 * Converte o If-Match na versão esperada. {@code *} aceita qualquer versão e
+	 * um valor que não é uma versão nunca confere, resultando em 412.
+	 */
+	private static Long versaoDoEtag(String ifMatch) {
+		String valor = ifMatch.trim();
+		if(valor.equals("*")) {
+			return null;
+		}
+		if(valor.startsWith("W/")) {
+			valor = valor.substring(2);
+		}
+		try {
+			return Long.valueOf(valor.replace("\"", ""));
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+	
+	private static Usuario referenciaUsuario(UsuarioAutenticado usuarioAutenticado) {
+		return Usuario.builder().id(usuarioAutenticado.getId()).build();
+	}
+	
+	private static boolean pertenceAoUsuario(Lancamento lancamento, UsuarioAutenticado usuarioAutenticado) {
+		return lancamento.getUsuario() != null && usuarioAutenticado.getId().equals(lancamento.getUsuario().getId());
+	}
+	
+	private Lancamento converterDtoParaLancamento(LancamentoDTO dto, Usuario usuario) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
 		lancamento.setDescricao(dto.getDescricao());
 		lancamento.setAno(dto.getAno());
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
-		
-		Usuario usuario  = usuarioService.obterUsuarioPorId(dto.getUsuario())
-			.orElseThrow( () -> new RegraNegocioException(UsuarioExceptionMessages
-					.USUARIO_NAO_ENCONTRADO_PARA_ID_INFORMADO));
-		
 		lancamento.setUsuario(usuario);
 		
 		if(dto.getTipo() != null) {
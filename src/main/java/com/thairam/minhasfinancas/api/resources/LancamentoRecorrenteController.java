@@ -0,0 +1,104 @@
+package com.thairam.minhasfinancas.api.resources;
+
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.thairam.minhasfinancas.api.dto.LancamentoRecorrenteDTO;
+import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
+import com.thairam.minhasfinancas.model.entity.LancamentoRecorrente;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.model.enums.FrequenciaRecorrencia;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.security.JwtTokenFilter;
+import com.thairam.minhasfinancas.security.UsuarioAutenticado;
+import com.thairam.minhasfinancas.service.LancamentoRecorrenteService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/lancamentos/recorrentes")
+@RequiredArgsConstructor
+public class LancamentoRecorrenteController {
+
+	private final LancamentoRecorrenteService recorrenteService;
+
+	@GetMapping
+	public ResponseEntity buscar(@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		return ResponseEntity.ok(recorrenteService.buscarPorUsuario(usuarioAutenticado.getId())
+				.stream()
+				.map(recorrente -> converterParaDTO(recorrente, usuarioAutenticado.getId()))
+				.collect(Collectors.toList()));
+	}
+
+	@PostMapping
+	public ResponseEntity salvar(@RequestBody LancamentoRecorrenteDTO dto,
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		try {
+			LancamentoRecorrente recorrente = converterDtoParaRecorrente(dto, usuarioAutenticado);
+			recorrente = recorrenteService.salvar(recorrente);
+			return new ResponseEntity(converterParaDTO(recorrente, usuarioAutenticado.getId()), HttpStatus.CREATED);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@DeleteMapping("{id}")
+	public ResponseEntity encerrar(@PathVariable("id") Long id,
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		return recorrenteService.encerrar(id, usuarioAutenticado.getId())
+				.map(recorrente -> new ResponseEntity(HttpStatus.NO_CONTENT))
+				.orElseGet( () -> new ResponseEntity(LancamentoExceptionMessages
+						.LANCAMENTO_NAO_ENCONTRADO, HttpStatus.BAD_REQUEST));
+	}
+
+	private LancamentoRecorrenteDTO converterParaDTO(LancamentoRecorrente recorrente, Long idUsuario) {
+		return LancamentoRecorrenteDTO.builder()
+				.id(recorrente.getId())
+				.descricao(recorrente.getDescricao())
+				.valor(recorrente.getValor())
+				.usuario(idUsuario)
+				.tipo(recorrente.getTipo().name())
+				.frequencia(recorrente.getFrequencia().name())
+				.mesInicial(recorrente.getMesInicial())
+				.anoInicial(recorrente.getAnoInicial())
+				.quantidadeParcelas(recorrente.getQuantidadeParcelas())
+				.mesFinal(recorrente.getMesFinal())
+				.anoFinal(recorrente.getAnoFinal())
+				.proximaParcela(recorrente.getProximaParcela())
+				.ativa(recorrente.getProximaCompetencia() != null)
+				.build();
+	}
+
+	private LancamentoRecorrente converterDtoParaRecorrente(LancamentoRecorrenteDTO dto, UsuarioAutenticado usuarioAutenticado) {
+		LancamentoRecorrente recorrente = new LancamentoRecorrente();
+		recorrente.setDescricao(dto.getDescricao());
+		recorrente.setValor(dto.getValor());
+		recorrente.setUsuario(Usuario.builder().id(usuarioAutenticado.getId()).build());
+		recorrente.setMesInicial(dto.getMesInicial());
+		recorrente.setAnoInicial(dto.getAnoInicial());
+		recorrente.setQuantidadeParcelas(dto.getQuantidadeParcelas());
+		recorrente.setMesFinal(dto.getMesFinal());
+		recorrente.setAnoFinal(dto.getAnoFinal());
+
+		if(dto.getTipo() != null) {
+			recorrente.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+		}
+
+		if(dto.getFrequencia() != null) {
+			recorrente.setFrequencia(FrequenciaRecorrencia.valueOf(dto.getFrequencia()));
+		}
+
+		return recorrente;
+	}
+}
@@ -0,0 +1,23 @@
+package com.thairam.minhasfinancas.api.resources;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.thairam.minhasfinancas.messages.ExecucaoExceptionMessages;
+
+@RestControllerAdvice
+public class SobrecargaExceptionHandler {
+
+	private static final String SEGUNDOS_PARA_NOVA_TENTATIVA = "1";
+
+	@ExceptionHandler(TaskRejectedException.class)
+	public ResponseEntity<String> tratarRejeicao(TaskRejectedException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, SEGUNDOS_PARA_NOVA_TENTATIVA)
+				.body(ExecucaoExceptionMessages.SERVIDOR_SOBRECARREGADO);
+	}
+}
@@ -1,21 +1,32 @@
 package com.thairam.minhasfinancas.api.resources;
 
-import java.math.BigDecimal;
 import java.security.cert.PKIXRevocationChecker.Option;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.thairam.minhasfinancas.api.dto.TicketDTO;
+import com.thairam.minhasfinancas.api.dto.TokenDTO;
 import com.thairam.minhasfinancas.api.dto.UsuarioDTO;
+import com.thairam.minhasfinancas.api.sse.RegistroEmissoresSse;
+import com.thairam.minhasfinancas.exceptions.ErroAutenticacao;
 import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
 import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.security.JwtTokenFilter;
+import com.thairam.minhasfinancas.security.UsuarioAutenticado;
+import com.thairam.minhasfinancas.service.JwtService;
 import com.thairam.minhasfinancas.service.LancamentoService;
 import com.thairam.minhasfinancas.service.UsuarioService;
 
@@ -28,13 +39,20 @@ public class UsuarioController {
 	
 	private final UsuarioService usuarioService;
 	private final LancamentoService lancamentoService; 
+	private final JwtService jwtService;
+	private final ThreadPoolTaskExecutor consultasExecutor;
+	private final RegistroEmissoresSse registroEmissoresSse;
 	
 	@PostMapping("/autenticar")
 	public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {
 		try {
 			Usuario usuarioAutenticado = usuarioService.autenticar(dto.getEmail(), dto.getSenha());
-			return ResponseEntity.ok(usuarioAutenticado);
-		} catch (Exception e) {
+			return ResponseEntity.ok(TokenDTO.builder()
+					.id(usuarioAutenticado.getId())
+					.nome(usuarioAutenticado.getNome())
+					.token(jwtService.gerarToken(usuarioAutenticado))
+					.build());
+		} catch (ErroAutenticacao e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 	}
@@ -55,14 +73,64 @@ public class UsuarioController {
 	}
 	
 	@GetMapping("{id}/saldo")
-	public ResponseEntity obterSaldo(@PathVariable("id") Long id) {
-		Optional<Usuario> usuario = usuarioService.obterUsuarioPorId(id);
-		
-		if(!usuario.isPresent()) {
-			return new ResponseEntity( HttpStatus.NOT_FOUND );
+	public CompletableFuture<ResponseEntity> obterSaldo(@PathVariable("id") Long id, 
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		if(!id.equals(usuarioAutenticado.getId())) {
+			return CompletableFuture.completedFuture(new ResponseEntity( HttpStatus.FORBIDDEN ));
 		}
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
-		return ResponseEntity.ok(saldo);
+		return CompletableFuture.supplyAsync( () -> lancamentoService.obterSaldoPorUsuario(id), consultasExecutor)
+				.<ResponseEntity>thenApply(ResponseEntity::ok);
+	}
+	
+	@GetMapping(value = "{id}/saldo", params = "ano")
+	public CompletableFuture<ResponseEntity> obterSaldoEm(@PathVariable("id") Long id, 
+			@RequestParam("ano") Integer ano,
+			@RequestParam("mes") Integer mes,
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		if(!id.equals(usuarioAutenticado.getId())) {
+			return CompletableFuture.completedFuture(new ResponseEntity( HttpStatus.FORBIDDEN ));
+		}
+		return CompletableFuture.supplyAsync( () -> {
+			try {
+				return ResponseEntity.ok(lancamentoService.obterSaldoPorUsuario(id, ano, mes));
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}, consultasExecutor);
+	}
+	
+	/** ticket para abrir o stream de eventos pelo EventSource do navegador, em {@code ?ticket=} */
+	@PostMapping("{id}/eventos/ticket")
+	public ResponseEntity gerarTicketEventos(@PathVariable("id") Long id, 
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		if(!id.equals(usuarioAutenticado.getId())) {
+			return new ResponseEntity( HttpStatus.FORBIDDEN );
+		}
+		return ResponseEntity.ok(TicketDTO.builder()
+				.ticket(jwtService.gerarTicketEventos(usuarioAutenticado))
+				.build());
+	}
+	
+	/** eventos "saldo" e "lancamento" a cada alteração confirmada nos lançamentos do usuário */
+	@GetMapping(value = "{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> acompanhar(@PathVariable("id") Long id, 
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		if(!id.equals(usuarioAutenticado.getId())) {
+			return new ResponseEntity<>( HttpStatus.FORBIDDEN );
+		}
+		return ResponseEntity.ok(registroEmissoresSse.conectar(id));
+	}
+	
+	@GetMapping("{id}/saldo/consolidado")
+	public CompletableFuture<ResponseEntity> obterSaldoConsolidado(@PathVariable("id") Long id, 
+			@RequestAttribute(JwtTokenFilter.ATRIBUTO_USUARIO) UsuarioAutenticado usuarioAutenticado) {
+		if(!id.equals(usuarioAutenticado.getId())) {
+			return CompletableFuture.completedFuture(new ResponseEntity( HttpStatus.FORBIDDEN ));
+		}
+		return CompletableFuture.supplyAsync( () -> lancamentoService.obterSaldoConsolidado(id), consultasExecutor)
+				.thenApply(saldo -> saldo
+						.map(saldoConsolidado -> (ResponseEntity) ResponseEntity.ok(saldoConsolidado))
+						.orElseGet( () -> new ResponseEntity( HttpStatus.NOT_FOUND ) ));
 	}
 	
 }
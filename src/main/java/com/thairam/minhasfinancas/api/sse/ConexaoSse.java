@@ -0,0 +1,106 @@
+package com.thairam.minhasfinancas.api.sse;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * Conexão SSE de um usuário. Os eventos entram numa fila limitada e são enviados por uma
+ * tarefa do executor de notificações, no máximo uma por conexão; conexões ociosas não
+ * ocupam threads. Um cliente que para de ler bloqueia o envio até o timeout de escrita do
+ * container ({@code server.connection-timeout}); o heartbeat descarta antes as conexões
+ * com envio parado, para que não recebam mais tarefas.
+ */
+class ConexaoSse {
+
+	private final Long idUsuario;
+	private final SseEmitter emitter;
+	private final BlockingQueue<SseEventBuilder> fila;
+	private final Executor executor;
+	private final AtomicBoolean envioAgendado = new AtomicBoolean();
+	private volatile boolean encerrada;
+	/** instante em que o envio em andamento começou, ou 0 sem envio */
+	private volatile long inicioEnvio;
+
+	ConexaoSse(Long idUsuario, SseEmitter emitter, int capacidadeFila, Executor executor) {
+		this.idUsuario = idUsuario;
+		this.emitter = emitter;
+		this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+		this.executor = executor;
+	}
+
+	Long getIdUsuario() {
+		return idUsuario;
+	}
+
+	SseEmitter getEmitter() {
+		return emitter;
+	}
+
+	/** retorna false quando a fila está cheia, a conexão foi encerrada ou o executor rejeitou o envio */
+	boolean enfileirar(SseEventBuilder evento) {
+		if(encerrada || !fila.offer(evento)) {
+			return false;
+		}
+		return agendarEnvio();
+	}
+
+	void encerrar() {
+		if(encerrada) {
+			return;
+		}
+		encerrada = true;
+		fila.clear();
+		try {
+			emitter.complete();
+		} catch (IllegalStateException e) {
+			// a requisição assíncrona já terminou
+		}
+	}
+
+	boolean isEncerrada() {
+		return encerrada;
+	}
+
+	boolean isEnvioParado(long agora, long tempoMaximoEnvio) {
+		long inicio = inicioEnvio;
+		return inicio != 0 && agora - inicio > tempoMaximoEnvio;
+	}
+
+	private boolean agendarEnvio() {
+		if(envioAgendado.compareAndSet(false, true)) {
+			try {
+				executor.execute(this::enviar);
+			} catch (RejectedExecutionException e) {
+				envioAgendado.set(false);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void enviar() {
+		try {
+			SseEventBuilder evento;
+			while(!encerrada && (evento = fila.poll()) != null) {
+				inicioEnvio = System.currentTimeMillis();
+				emitter.send(evento);
+				inicioEnvio = 0;
+			}
+		} catch (IOException | IllegalStateException e) {
+			encerrar();
+		} finally {
+			inicioEnvio = 0;
+			envioAgendado.set(false);
+		}
+		if(!encerrada && !fila.isEmpty() && !agendarEnvio()) {
+			encerrar();
+		}
+	}
+}
@@ -0,0 +1,220 @@
+package com.thairam.minhasfinancas.api.sse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.thairam.minhasfinancas.api.dto.EventoLancamentoDTO;
+import com.thairam.minhasfinancas.model.entity.EventoLancamento;
+import com.thairam.minhasfinancas.service.EventoLancamentoService;
+import com.thairam.minhasfinancas.service.LancamentoService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Conexões SSE abertas por usuário. Acompanha os eventos publicados pela outbox, de modo que
+ * cada instância recebe as alterações feitas em qualquer uma, e envia a cada conexão do usuário
+ * os lançamentos alterados e o novo saldo. Conexões cuja fila enche ou cujo envio fica parado
+ * (cliente lento ou desconectado) são encerradas; o heartbeat periódico também passa pela fila.
+ */
+@Component
+public class RegistroEmissoresSse {
+
+	public static final String EVENTO_SALDO = "saldo";
+	public static final String EVENTO_LANCAMENTO = "lancamento";
+
+	private static final Logger log = LoggerFactory.getLogger(RegistroEmissoresSse.class);
+	private static final int TAMANHO_LOTE_EVENTOS = 500;
+
+	private final Map<Long, List<ConexaoSse>> conexoes = new ConcurrentHashMap<>();
+	private final AtomicInteger totalConexoes = new AtomicInteger();
+
+	private LancamentoService lancamentoService;
+	private EventoLancamentoService eventoLancamentoService;
+	private ThreadPoolTaskExecutor notificacoesExecutor;
+	private TransactionTemplate transactionTemplate;
+	private Counter descartes;
+	private long timeout;
+	private int capacidadeFila;
+	private int conexoesPorUsuario;
+	private long tempoMaximoEnvio;
+	/** posição do último evento lido da outbox; só é alterada pelo job de leitura */
+	private volatile Long ultimaPosicaoLida;
+
+	public RegistroEmissoresSse(LancamentoService lancamentoService,
+			EventoLancamentoService eventoLancamentoService,
+			ThreadPoolTaskExecutor notificacoesExecutor,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${minhasfinancas.sse.timeout-ms:1800000}") long timeout,
+			@Value("${minhasfinancas.sse.capacidade-fila:32}") int capacidadeFila,
+			@Value("${minhasfinancas.sse.conexoes-por-usuario:10}") int conexoesPorUsuario,
+			@Value("${minhasfinancas.sse.tempo-maximo-envio-ms:10000}") long tempoMaximoEnvio) {
+		this.lancamentoService = lancamentoService;
+		this.eventoLancamentoService = eventoLancamentoService;
+		this.notificacoesExecutor = notificacoesExecutor;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.timeout = timeout;
+		this.capacidadeFila = capacidadeFila;
+		this.conexoesPorUsuario = conexoesPorUsuario;
+		this.tempoMaximoEnvio = tempoMaximoEnvio;
+		this.descartes = meterRegistry.counter("minhasfinancas.sse.descartes");
+		meterRegistry.gauge("minhasfinancas.sse.conexoes", totalConexoes);
+	}
+
+	public SseEmitter conectar(Long idUsuario) {
+		SseEmitter emitter = new SseEmitter(timeout);
+		ConexaoSse conexao = new ConexaoSse(idUsuario, emitter, capacidadeFila, notificacoesExecutor);
+		emitter.onCompletion( () -> remover(conexao) );
+		emitter.onTimeout( () -> remover(conexao) );
+		emitter.onError( erro -> remover(conexao) );
+
+		List<ConexaoSse> conexoesUsuario = conexoes.compute(idUsuario, (id, atuais) -> {
+			List<ConexaoSse> lista = atuais == null ? new CopyOnWriteArrayList<>() : atuais;
+			lista.add(conexao);
+			return lista;
+		});
+		totalConexoes.incrementAndGet();
+		while(conexoesUsuario.size() > conexoesPorUsuario) {
+			descartar(conexoesUsuario.get(0));
+		}
+
+		try {
+			notificacoesExecutor.execute( () -> enviarSaldo(idUsuario) );
+		} catch (TaskRejectedException e) {
+			// respondida como 503 pelo SobrecargaExceptionHandler
+			descartar(conexao);
+			throw e;
+		}
+		return emitter;
+	}
+
+	/**
+	 * Envia às conexões desta instância os eventos publicados desde a última leitura. As posições
+	 * crescem na ordem de commit, então a leitura por posição não pula eventos, mesmo numa réplica
+	 * atrasada. Sem conexões abertas apenas avança até a última posição publicada.
+	 */
+	public void enviarEventosPublicados() {
+		if(ultimaPosicaoLida == null || conexoes.isEmpty()) {
+			ultimaPosicaoLida = eventoLancamentoService.obterUltimaPosicaoPublicada();
+			return;
+		}
+		List<EventoLancamento> eventos;
+		do {
+			eventos = eventoLancamentoService.buscarPublicadosApos(ultimaPosicaoLida, TAMANHO_LOTE_EVENTOS);
+			if(!eventos.isEmpty()) {
+				ultimaPosicaoLida = eventos.get(eventos.size() - 1).getPosicao();
+				despachar(eventos);
+			}
+		} while(eventos.size() == TAMANHO_LOTE_EVENTOS);
+	}
+
+	private void despachar(List<EventoLancamento> eventosPublicados) {
+		Map<Long, List<EventoLancamento>> eventosPorUsuario = new LinkedHashMap<>();
+		for(EventoLancamento eventoLancamento : eventosPublicados) {
+			if(conexoes.containsKey(eventoLancamento.getIdUsuario())) {
+				eventosPorUsuario.computeIfAbsent(eventoLancamento.getIdUsuario(), id -> new ArrayList<>())
+						.add(eventoLancamento);
+			}
+		}
+		eventosPorUsuario.forEach((idUsuario, eventos) -> {
+			try {
+				notificacoesExecutor.execute( () -> enviarAlteracoes(idUsuario, eventos) );
+			} catch (TaskRejectedException e) {
+				// sem os eventos o cliente ficaria desatualizado; ao reconectar ele retoma pelo /changes
+				log.debug("Conexões SSE do usuário {} descartadas por executor de notificações cheio", idUsuario);
+				List<ConexaoSse> conexoesUsuario = conexoes.get(idUsuario);
+				if(conexoesUsuario != null) {
+					conexoesUsuario.forEach(this::descartar);
+				}
+			}
+		});
+	}
+
+	/** também descarta as conexões com um envio parado há mais de {@code tempo-maximo-envio-ms} */
+	public void enviarHeartbeat() {
+		long agora = System.currentTimeMillis();
+		conexoes.values().forEach(conexoesUsuario -> conexoesUsuario.forEach(conexao -> {
+			if(conexao.isEnvioParado(agora, tempoMaximoEnvio)) {
+				log.debug("Conexão SSE do usuário {} descartada por envio parado", conexao.getIdUsuario());
+				descartar(conexao);
+			} else {
+				enfileirar(conexao, () -> SseEmitter.event().comment("heartbeat"));
+			}
+		}));
+	}
+
+	private void enviarAlteracoes(Long idUsuario, List<EventoLancamento> eventos) {
+		for(EventoLancamento evento : eventos) {
+			EventoLancamentoDTO dto = EventoLancamentoDTO.de(evento);
+			enfileirar(idUsuario, () -> SseEmitter.event()
+					.name(EVENTO_LANCAMENTO)
+					.data(dto, MediaType.APPLICATION_JSON));
+		}
+		enviarSaldo(idUsuario);
+	}
+
+	private void enviarSaldo(Long idUsuario) {
+		if(!conexoes.containsKey(idUsuario)) {
+			return;
+		}
+		// transação de escrita: a consulta vai ao primário, e não a uma réplica ainda sem a alteração
+		BigDecimal saldo = transactionTemplate.execute(status -> lancamentoService.obterSaldoPorUsuario(idUsuario));
+		enfileirar(idUsuario, () -> SseEmitter.event()
+				.name(EVENTO_SALDO)
+				.data(saldo, MediaType.APPLICATION_JSON));
+	}
+
+	/** o SseEventBuilder acumula o texto ao ser enviado, então cada conexão recebe o seu */
+	private void enfileirar(Long idUsuario, Supplier<SseEventBuilder> evento) {
+		List<ConexaoSse> conexoesUsuario = conexoes.get(idUsuario);
+		if(conexoesUsuario != null) {
+			conexoesUsuario.forEach(conexao -> enfileirar(conexao, evento));
+		}
+	}
+
+	private void enfileirar(ConexaoSse conexao, Supplier<SseEventBuilder> evento) {
+		if(!conexao.enfileirar(evento.get())) {
+			log.debug("Conexão SSE do usuário {} descartada por não consumir os eventos", conexao.getIdUsuario());
+			descartar(conexao);
+		}
+	}
+
+	private void descartar(ConexaoSse conexao) {
+		if(remover(conexao)) {
+			descartes.increment();
+		}
+		conexao.encerrar();
+	}
+
+	private boolean remover(ConexaoSse conexao) {
+		boolean[] removida = new boolean[1];
+		conexoes.computeIfPresent(conexao.getIdUsuario(), (id, conexoesUsuario) -> {
+			removida[0] = conexoesUsuario.remove(conexao);
+			return conexoesUsuario.isEmpty() ? null : conexoesUsuario;
+		});
+		if(removida[0]) {
+			totalConexoes.decrementAndGet();
+		}
+		return removida[0];
+	}
+}
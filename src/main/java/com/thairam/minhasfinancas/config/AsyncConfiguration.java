@@ -0,0 +1,93 @@
+package com.thairam.minhasfinancas.config;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class AsyncConfiguration {
+
+	public static final String EXECUTOR_CONSULTAS = "consultasExecutor";
+	public static final String EXECUTOR_NOTIFICACOES = "notificacoesExecutor";
+	public static final String EXECUTOR_TRANSMISSOES = "transmissoesExecutor";
+
+	/**
+	 * Executor das consultas assíncronas dos controllers. O número de threads acompanha o pool
+	 * de conexões, e a fila é limitada: quando ela enche a tarefa é rejeitada com
+	 * {@link org.springframework.core.task.TaskRejectedException}, respondida como 503.
+	 */
+	@Bean(name = EXECUTOR_CONSULTAS)
+	public ThreadPoolTaskExecutor consultasExecutor(
+			@Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanhoPoolConexoes,
+			@Value("${minhasfinancas.async.consultas.capacidade-fila:200}") int capacidadeFila) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(tamanhoPoolConexoes);
+		executor.setMaxPoolSize(tamanhoPoolConexoes);
+		executor.setQueueCapacity(capacidadeFila);
+		executor.setThreadNamePrefix("consultas-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		return executor;
+	}
+
+	/**
+	 * Executor que monta e envia os eventos SSE. Cada conexão tem no máximo uma tarefa de envio
+	 * pendente, e as demais tarefas são uma por usuário conectado, então a fila é dimensionada pelo
+	 * número de conexões do container. Uma tarefa rejeitada descarta a conexão que a agendou.
+	 */
+	@Bean(name = EXECUTOR_NOTIFICACOES)
+	public ThreadPoolTaskExecutor notificacoesExecutor(
+			@Value("${minhasfinancas.sse.threads:8}") int threads,
+			@Value("${minhasfinancas.sse.capacidade-fila-tarefas:${server.tomcat.max-connections:10000}}") int capacidadeFila) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(capacidadeFila);
+		executor.setThreadNamePrefix("notificacoes-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		return executor;
+	}
+
+	/**
+	 * Executor dos StreamingResponseBody (exportações e saldos consolidados). Cada transmissão
+	 * mantém uma conexão do pool enquanto escreve, então as threads são limitadas; com a fila
+	 * cheia a requisição é respondida como 503.
+	 */
+	@Bean(name = EXECUTOR_TRANSMISSOES)
+	public ThreadPoolTaskExecutor transmissoesExecutor(
+			@Value("${minhasfinancas.transmissao.threads:4}") int threads,
+			@Value("${minhasfinancas.transmissao.capacidade-fila:20}") int capacidadeFila) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(capacidadeFila);
+		executor.setThreadNamePrefix("transmissoes-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		return executor;
+	}
+
+	@Bean
+	public MeterBinder consultasExecutorMetrics(ThreadPoolTaskExecutor consultasExecutor) {
+		return registry -> new ExecutorServiceMetrics(consultasExecutor.getThreadPoolExecutor(),
+				EXECUTOR_CONSULTAS, Collections.emptyList()).bindTo(registry);
+	}
+
+	@Bean
+	public MeterBinder notificacoesExecutorMetrics(ThreadPoolTaskExecutor notificacoesExecutor) {
+		return registry -> new ExecutorServiceMetrics(notificacoesExecutor.getThreadPoolExecutor(),
+				EXECUTOR_NOTIFICACOES, Collections.emptyList()).bindTo(registry);
+	}
+
+	@Bean
+	public MeterBinder transmissoesExecutorMetrics(ThreadPoolTaskExecutor transmissoesExecutor) {
+		return registry -> new ExecutorServiceMetrics(transmissoesExecutor.getThreadPoolExecutor(),
+				EXECUTOR_TRANSMISSOES, Collections.emptyList()).bindTo(registry);
+	}
+}
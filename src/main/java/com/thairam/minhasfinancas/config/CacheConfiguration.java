@@ -0,0 +1,13 @@
+package com.thairam.minhasfinancas.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@EnableCaching
+@Configuration
+public class CacheConfiguration {
+
+	public static final String USUARIOS = "usuarios";
+	public static final String USUARIOS_POR_EMAIL = "usuariosPorEmail";
+	
+}
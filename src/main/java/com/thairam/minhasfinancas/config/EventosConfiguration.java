@@ -0,0 +1,22 @@
+package com.thairam.minhasfinancas.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.thairam.minhasfinancas.service.PublicadorEventosLancamento;
+
+@Configuration
+public class EventosConfiguration {
+
+	private static final Logger log = LoggerFactory.getLogger(EventosConfiguration.class);
+
+	/** sem um publicador próprio os eventos ficam disponíveis apenas pelo feed de alterações */
+	@Bean
+	@ConditionalOnMissingBean
+	public PublicadorEventosLancamento publicadorEventosLancamento() {
+		return eventos -> log.debug("{} eventos de lançamento publicados", eventos.size());
+	}
+}
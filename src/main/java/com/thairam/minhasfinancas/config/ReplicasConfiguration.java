@@ -0,0 +1,90 @@
+package com.thairam.minhasfinancas.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import com.thairam.minhasfinancas.datasource.ConjuntoReplicas;
+import com.thairam.minhasfinancas.datasource.ReplicasProperties;
+import com.thairam.minhasfinancas.datasource.RoteamentoDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Ativada quando há ao menos uma réplica em {@code minhasfinancas.datasource.replicas[n].*}.
+ * Os pools ficam dentro do {@link RoteamentoDataSource}, de forma que o único DataSource do
+ * contexto (JPA, Flyway, JdbcTemplate) é o roteado; escritas e DDL seguem para o primário.
+ * <p>
+ * Transações somente leitura, inclusive os métodos de consulta dos repositórios chamados fora de
+ * uma transação, podem ler dados até {@code atraso-maximo-segundos} atrasados: listagem, pesquisa,
+ * exportação, resumos e saldos de {@code /api/lancamentos} e {@code /api/usuarios}, o feed
+ * {@code /changes}, os saldos do backoffice e a autenticação logo após o cadastro. As leituras que
+ * precedem uma alteração e o {@code GET /api/lancamentos/{id}}, cujo ETag é usado no If-Match,
+ * rodam em transações de escrita e vão ao primário.
+ */
+@Configuration
+@ConditionalOnProperty("minhasfinancas.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicasProperties.class)
+public class ReplicasConfiguration {
+
+	/** cada réplica herda a configuração do pool primário, trocando url, credenciais e tamanho quando informados */
+	@Bean(destroyMethod = "close")
+	public ConjuntoReplicas replicas(DataSourceProperties dataSourceProperties, ReplicasProperties replicasProperties,
+			Environment environment, MeterRegistry meterRegistry) {
+		HikariConfig modelo = criarPrimario(dataSourceProperties, environment, meterRegistry);
+		List<HikariDataSource> pools = new ArrayList<>();
+		for(int i = 0; i < replicasProperties.getReplicas().size(); i++) {
+			ReplicasProperties.Replica replica = replicasProperties.getReplicas().get(i);
+			HikariConfig config = new HikariConfig();
+			modelo.copyStateTo(config);
+			config.setPoolName("replica-" + i);
+			config.setJdbcUrl(replica.getUrl());
+			config.setReadOnly(true);
+			config.setInitializationFailTimeout(-1);
+			if(replica.getUsername() != null) {
+				config.setUsername(replica.getUsername());
+				config.setPassword(replica.getPassword());
+			}
+			if(replica.getMaximumPoolSize() != null) {
+				config.setMaximumPoolSize(replica.getMaximumPoolSize());
+			}
+			pools.add(new HikariDataSource(config));
+		}
+
+		ConjuntoReplicas replicas = new ConjuntoReplicas(pools, replicasProperties.getConsultaAtraso(),
+				replicasProperties.getAtrasoMaximoSegundos());
+		replicas.verificar();
+		return replicas;
+	}
+
+	@Bean
+	@Primary
+	public RoteamentoDataSource dataSource(DataSourceProperties dataSourceProperties, ConjuntoReplicas replicas,
+			Environment environment, MeterRegistry meterRegistry) {
+		return new RoteamentoDataSource(criarPrimario(dataSourceProperties, environment, meterRegistry), replicas);
+	}
+
+	/** pool primário montado como o do auto-configuration (spring.datasource.* e spring.datasource.hikari.*) */
+	private static HikariDataSource criarPrimario(DataSourceProperties dataSourceProperties, Environment environment,
+			MeterRegistry meterRegistry) {
+		HikariDataSource primario = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primario));
+		if(primario.getPoolName() == null) {
+			primario.setPoolName("primario");
+		}
+		primario.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+		return primario;
+	}
+}
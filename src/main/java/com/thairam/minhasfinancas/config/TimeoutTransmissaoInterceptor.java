@@ -0,0 +1,38 @@
+package com.thairam.minhasfinancas.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+/**
+ * Aplica um timeout maior apenas às respostas transmitidas marcadas com {@link #habilitar()},
+ * como exportações, mantendo o timeout padrão para as demais requisições assíncronas.
+ */
+public class TimeoutTransmissaoInterceptor implements CallableProcessingInterceptor {
+
+	private static final String ATRIBUTO = TimeoutTransmissaoInterceptor.class.getName() + ".habilitado";
+
+	private final long timeout;
+
+	public TimeoutTransmissaoInterceptor(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/** deve ser chamado pelo controller antes de retornar o StreamingResponseBody */
+	public static void habilitar() {
+		RequestContextHolder.currentRequestAttributes()
+				.setAttribute(ATRIBUTO, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+	}
+
+	@Override
+	public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+		if(request instanceof AsyncWebRequest
+				&& request.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST) != null) {
+			((AsyncWebRequest) request).setTimeout(timeout);
+		}
+	}
+}
@@ -1,17 +1,41 @@
 package com.thairam.minhasfinancas.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.thairam.minhasfinancas.api.idempotencia.RegistroIdempotencia;
+
 @EnableWebMvc
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer{
 
+	@Value("${minhasfinancas.transmissao.timeout-ms:1800000}")
+	private long timeoutTransmissoes;
+	
+	private final ThreadPoolTaskExecutor transmissoesExecutor;
+	
+	public WebConfiguration(ThreadPoolTaskExecutor transmissoesExecutor) {
+		this.transmissoesExecutor = transmissoesExecutor;
+	}
+	
+	/** com @EnableWebMvc o executor padrão do Boot não é aplicado; sem ele cada transmissão criaria uma thread */
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.setTaskExecutor(transmissoesExecutor);
+		configurer.registerCallableInterceptors(new TimeoutTransmissaoInterceptor(timeoutTransmissoes));
+	}
+	
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
-		registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
+		registry.addMapping("/**")
+				.allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+				.exposedHeaders(HttpHeaders.ETAG, RegistroIdempotencia.CABECALHO_REPETIDA);
 	}
 	
 }
@@ -0,0 +1,124 @@
+package com.thairam.minhasfinancas.datasource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.Value;
+
+/**
+ * Pools das réplicas de leitura com o estado da última verificação. Uma réplica fora do ar
+ * ou com atraso acima do limite fica de fora do rodízio até a próxima verificação que a aprove.
+ */
+public class ConjuntoReplicas implements HealthIndicator, Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(ConjuntoReplicas.class);
+	private static final Status DEGRADADO = new Status("DEGRADADO");
+	private static final int TIMEOUT_VERIFICACAO_SEGUNDOS = 2;
+
+	private final List<HikariDataSource> pools;
+	private final String consultaAtraso;
+	private final long atrasoMaximoSegundos;
+	/** escrito pela verificação agendada e lido pelas threads de requisição */
+	private final AtomicReferenceArray<EstadoReplica> estados;
+	private final AtomicInteger proxima = new AtomicInteger();
+
+	public ConjuntoReplicas(List<HikariDataSource> pools, String consultaAtraso, long atrasoMaximoSegundos) {
+		this.pools = pools;
+		this.consultaAtraso = consultaAtraso;
+		this.atrasoMaximoSegundos = atrasoMaximoSegundos;
+		this.estados = new AtomicReferenceArray<>(pools.size());
+		for(int i = 0; i < estados.length(); i++) {
+			estados.set(i, new EstadoReplica(false, null, null));
+		}
+	}
+
+	/** próxima réplica disponível em rodízio, ou null quando nenhuma pode receber leituras */
+	public DataSource selecionar() {
+		int inicio = Math.floorMod(proxima.getAndIncrement(), pools.size());
+		for(int i = 0; i < pools.size(); i++) {
+			int indice = (inicio + i) % pools.size();
+			if(estados.get(indice).disponivel) {
+				return pools.get(indice);
+			}
+		}
+		return null;
+	}
+
+	public void verificar() {
+		for(int i = 0; i < pools.size(); i++) {
+			HikariDataSource pool = pools.get(i);
+			EstadoReplica anterior = estados.get(i);
+			EstadoReplica atual;
+			try {
+				double atraso = medirAtraso(pool);
+				atual = new EstadoReplica(atraso <= atrasoMaximoSegundos, atraso, null);
+			} catch (SQLException e) {
+				atual = new EstadoReplica(false, null, e.getMessage());
+			}
+			if(anterior.disponivel != atual.disponivel) {
+				log.warn("Réplica {} {} (atraso: {}s, erro: {})", pool.getPoolName(),
+						atual.disponivel ? "voltou a receber leituras" : "removida das leituras", atual.atraso, atual.erro);
+			}
+			estados.set(i, atual);
+		}
+	}
+
+	private double medirAtraso(HikariDataSource pool) throws SQLException {
+		try(Connection conexao = pool.getConnection()) {
+			if(consultaAtraso == null || consultaAtraso.trim().isEmpty()) {
+				if(!conexao.isValid(TIMEOUT_VERIFICACAO_SEGUNDOS)) {
+					throw new SQLException("Conexão inválida");
+				}
+				return 0;
+			}
+			try(Statement statement = conexao.createStatement()) {
+				statement.setQueryTimeout(TIMEOUT_VERIFICACAO_SEGUNDOS);
+				try(ResultSet resultado = statement.executeQuery(consultaAtraso)) {
+					resultado.next();
+					return resultado.getDouble(1);
+				}
+			}
+		}
+	}
+
+	@Override
+	public Health health() {
+		boolean todasDisponiveis = true;
+		Health.Builder health = Health.up();
+		for(int i = 0; i < pools.size(); i++) {
+			EstadoReplica estado = estados.get(i);
+			todasDisponiveis &= estado.disponivel;
+			health.withDetail(pools.get(i).getPoolName(), estado);
+		}
+		return health.status(todasDisponiveis ? Status.UP : DEGRADADO).build();
+	}
+
+	@Override
+	public void close() {
+		pools.forEach(HikariDataSource::close);
+	}
+
+	@Value
+	static class EstadoReplica {
+
+		boolean disponivel;
+		Double atraso;
+		String erro;
+	}
+}
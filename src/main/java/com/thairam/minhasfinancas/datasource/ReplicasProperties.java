@@ -0,0 +1,34 @@
+package com.thairam.minhasfinancas.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.datasource")
+public class ReplicasProperties {
+
+	public static final String CONSULTA_ATRASO_POSTGRESQL = "SELECT CASE "
+			+ "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+			+ "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+	private List<Replica> replicas = new ArrayList<>();
+
+	/** acima desse atraso a réplica deixa de receber leituras até alcançar o primário */
+	private long atrasoMaximoSegundos = 10;
+
+	/** consulta que retorna o atraso em segundos; vazia apenas testa a conexão (ex.: H2 local) */
+	private String consultaAtraso = CONSULTA_ATRASO_POSTGRESQL;
+
+	@Data
+	public static class Replica {
+
+		private String url;
+		private String username;
+		private String password;
+		private Integer maximumPoolSize;
+	}
+}
@@ -0,0 +1,56 @@
+package com.thairam.minhasfinancas.datasource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Envia as transações somente leitura para uma réplica disponível e todo o resto para o primário.
+ * A conexão real só é obtida no primeiro comando: o JpaTransactionManager pede a conexão antes de
+ * marcar a transação como somente leitura, então a escolha não pode ser feita no {@code getConnection}.
+ */
+public class RoteamentoDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+	private final HikariDataSource primario;
+	private final ConjuntoReplicas replicas;
+
+	public RoteamentoDataSource(HikariDataSource primario, ConjuntoReplicas replicas) {
+		this.primario = primario;
+		this.replicas = replicas;
+		setTargetDataSource(new AbstractDataSource() {
+			@Override
+			public Connection getConnection() throws SQLException {
+				return selecionar().getConnection();
+			}
+
+			@Override
+			public Connection getConnection(String username, String password) throws SQLException {
+				return selecionar().getConnection(username, password);
+			}
+		});
+		afterPropertiesSet();
+	}
+
+	private DataSource selecionar() {
+		if(TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			DataSource replica = replicas.selecionar();
+			if(replica != null) {
+				return replica;
+			}
+		}
+		return primario;
+	}
+
+	@Override
+	public void close() {
+		primario.close();
+	}
+}
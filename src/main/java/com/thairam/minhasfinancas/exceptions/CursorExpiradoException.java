@@ -0,0 +1,18 @@
+package com.thairam.minhasfinancas.exceptions;
+
+public class CursorExpiradoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/** posição a partir da qual o feed continua depois da ressincronização */
+	private final Long posicaoAtual;
+
+	public CursorExpiradoException(String mensagem, Long posicaoAtual) {
+		super(mensagem);
+		this.posicaoAtual = posicaoAtual;
+	}
+
+	public Long getPosicaoAtual() {
+		return posicaoAtual;
+	}
+}
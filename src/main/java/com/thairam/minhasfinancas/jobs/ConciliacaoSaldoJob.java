@@ -0,0 +1,28 @@
+package com.thairam.minhasfinancas.jobs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.thairam.minhasfinancas.service.SaldoService;
+
+@Component
+public class ConciliacaoSaldoJob {
+
+	private SaldoService saldoService;
+	private int tamanhoLote;
+	
+	public ConciliacaoSaldoJob(SaldoService saldoService, 
+			@Value("${minhasfinancas.saldo.conciliacao.tamanho-lote:500}") int tamanhoLote) {
+		this.saldoService = saldoService;
+		this.tamanhoLote = tamanhoLote;
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.saldo.conciliacao.cron:0 0 4 * * *}")
+	public void conciliar() {
+		Long ultimoUsuario = 0L;
+		while(ultimoUsuario != null) {
+			ultimoUsuario = saldoService.conciliarLote(ultimoUsuario, tamanhoLote);
+		}
+	}
+}
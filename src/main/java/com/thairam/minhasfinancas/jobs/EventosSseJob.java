@@ -0,0 +1,22 @@
+package com.thairam.minhasfinancas.jobs;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.thairam.minhasfinancas.api.sse.RegistroEmissoresSse;
+
+@Component
+public class EventosSseJob {
+
+	private RegistroEmissoresSse registroEmissoresSse;
+
+	public EventosSseJob(RegistroEmissoresSse registroEmissoresSse) {
+		this.registroEmissoresSse = registroEmissoresSse;
+	}
+
+	/** somado ao intervalo de publicação da outbox, é o atraso máximo de um evento até o cliente SSE */
+	@Scheduled(fixedDelayString = "${minhasfinancas.sse.intervalo-leitura-ms:1000}")
+	public void enviarEventos() {
+		registroEmissoresSse.enviarEventosPublicados();
+	}
+}
@@ -0,0 +1,35 @@
+package com.thairam.minhasfinancas.jobs;
+
+import java.time.YearMonth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.thairam.minhasfinancas.service.SaldoService;
+
+/**
+ * Fecha os meses encerrados de cada usuário. Meses que ficaram sem fechamento
+ * (job parado, usuário novo) são fechados na execução seguinte.
+ */
+@Component
+public class FechamentoMensalJob {
+
+	private SaldoService saldoService;
+	private int tamanhoLote;
+	
+	public FechamentoMensalJob(SaldoService saldoService, 
+			@Value("${minhasfinancas.saldo.fechamento.tamanho-lote:500}") int tamanhoLote) {
+		this.saldoService = saldoService;
+		this.tamanhoLote = tamanhoLote;
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.saldo.fechamento.cron:0 0 1 1 * *}")
+	public void fechar() {
+		YearMonth ultimoMes = YearMonth.now().minusMonths(1);
+		Long ultimoUsuario = 0L;
+		while(ultimoUsuario != null) {
+			ultimoUsuario = saldoService.fecharMesesLote(ultimoUsuario, tamanhoLote, ultimoMes);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.thairam.minhasfinancas.jobs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.thairam.minhasfinancas.service.LancamentoRecorrenteService;
+
+@Component
+public class GeracaoLancamentosRecorrentesJob {
+
+	private LancamentoRecorrenteService recorrenteService;
+	private int tamanhoLote;
+
+	public GeracaoLancamentosRecorrentesJob(LancamentoRecorrenteService recorrenteService,
+			@Value("${minhasfinancas.recorrencia.tamanho-lote:500}") int tamanhoLote) {
+		this.recorrenteService = recorrenteService;
+		this.tamanhoLote = tamanhoLote;
+	}
+
+	/** cada lote é uma transação; vários nós podem rodar ao mesmo tempo, pois os lotes são reservados com SKIP LOCKED */
+	@Scheduled(cron = "${minhasfinancas.recorrencia.cron:0 0 2 * * *}")
+	public void gerar() {
+		int processadas;
+		do {
+			processadas = recorrenteService.gerarParcelasPendentes(tamanhoLote);
+		} while(processadas == tamanhoLote);
+	}
+}
@@ -0,0 +1,21 @@
+package com.thairam.minhasfinancas.jobs;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.thairam.minhasfinancas.api.sse.RegistroEmissoresSse;
+
+@Component
+public class HeartbeatSseJob {
+
+	private RegistroEmissoresSse registroEmissoresSse;
+
+	public HeartbeatSseJob(RegistroEmissoresSse registroEmissoresSse) {
+		this.registroEmissoresSse = registroEmissoresSse;
+	}
+
+	@Scheduled(fixedRateString = "${minhasfinancas.sse.intervalo-heartbeat-ms:15000}")
+	public void enviarHeartbeat() {
+		registroEmissoresSse.enviarHeartbeat();
+	}
+}
@@ -0,0 +1,28 @@
+package com.thairam.minhasfinancas.jobs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.thairam.minhasfinancas.api.idempotencia.RegistroIdempotencia;
+
+@Component
+public class LimpezaIdempotenciaJob {
+
+	private static final Logger log = LoggerFactory.getLogger(LimpezaIdempotenciaJob.class);
+
+	private RegistroIdempotencia registroIdempotencia;
+	
+	public LimpezaIdempotenciaJob(RegistroIdempotencia registroIdempotencia) {
+		this.registroIdempotencia = registroIdempotencia;
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.idempotencia.limpeza.cron:0 15 * * * *}")
+	public void removerExpiradas() {
+		int removidas = registroIdempotencia.removerExpiradas();
+		if(removidas > 0) {
+			log.info("{} chaves de idempotência expiradas removidas", removidas);
+		}
+	}
+}
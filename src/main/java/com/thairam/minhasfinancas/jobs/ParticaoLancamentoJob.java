@@ -0,0 +1,45 @@
+package com.thairam.minhasfinancas.jobs;
+
+import java.time.Year;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém as partições anuais de {@code financas.lancamento} criadas com antecedência,
+ * para que lançamentos de anos futuros não caiam na partição padrão.
+ */
+@Component
+@ConditionalOnProperty(name = "minhasfinancas.lancamento.particoes.habilitado", havingValue = "true", matchIfMissing = true)
+public class ParticaoLancamentoJob {
+
+	private static final Logger log = LoggerFactory.getLogger(ParticaoLancamentoJob.class);
+
+	private JdbcTemplate jdbcTemplate;
+	private int anosFuturos;
+
+	public ParticaoLancamentoJob(JdbcTemplate jdbcTemplate,
+			@Value("${minhasfinancas.lancamento.particoes.anos-futuros:2}") int anosFuturos) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.anosFuturos = anosFuturos;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${minhasfinancas.lancamento.particoes.cron:0 0 3 1 * *}")
+	public void criarParticoes() {
+		int anoAtual = Year.now().getValue();
+		for(int ano = anoAtual; ano <= anoAtual + anosFuturos; ano++) {
+			Boolean criada = jdbcTemplate.queryForObject("SELECT financas.criar_particao_lancamento(?)", Boolean.class, ano);
+			if(Boolean.TRUE.equals(criada)) {
+				log.info("Partição de lançamentos criada para o ano {}", ano);
+			}
+		}
+	}
+}
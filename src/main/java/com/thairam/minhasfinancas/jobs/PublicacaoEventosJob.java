@@ -0,0 +1,38 @@
+package com.thairam.minhasfinancas.jobs;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.thairam.minhasfinancas.service.EventoLancamentoService;
+
+@Component
+public class PublicacaoEventosJob {
+
+	private EventoLancamentoService eventoLancamentoService;
+	private int tamanhoLote;
+	private int diasRetencao;
+	
+	public PublicacaoEventosJob(EventoLancamentoService eventoLancamentoService, 
+			@Value("${minhasfinancas.eventos.publicacao.tamanho-lote:500}") int tamanhoLote,
+			@Value("${minhasfinancas.eventos.retencao-dias:7}") int diasRetencao) {
+		this.eventoLancamentoService = eventoLancamentoService;
+		this.tamanhoLote = tamanhoLote;
+		this.diasRetencao = diasRetencao;
+	}
+	
+	@Scheduled(fixedDelayString = "${minhasfinancas.eventos.publicacao.intervalo-ms:1000}")
+	public void publicar() {
+		int publicados;
+		do {
+			publicados = eventoLancamentoService.publicarLote(tamanhoLote);
+		} while(publicados == tamanhoLote);
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.eventos.limpeza.cron:0 30 4 * * *}")
+	public void removerPublicados() {
+		eventoLancamentoService.removerPublicadosAntesDe(LocalDateTime.now().minusDays(diasRetencao));
+	}
+}
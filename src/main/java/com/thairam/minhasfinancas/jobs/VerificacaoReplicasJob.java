@@ -0,0 +1,23 @@
+package com.thairam.minhasfinancas.jobs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.thairam.minhasfinancas.datasource.ConjuntoReplicas;
+
+@Component
+@ConditionalOnProperty("minhasfinancas.datasource.replicas[0].url")
+public class VerificacaoReplicasJob {
+
+	private ConjuntoReplicas replicas;
+
+	public VerificacaoReplicasJob(ConjuntoReplicas replicas) {
+		this.replicas = replicas;
+	}
+
+	@Scheduled(fixedDelayString = "${minhasfinancas.datasource.intervalo-verificacao-ms:5000}")
+	public void verificar() {
+		replicas.verificar();
+	}
+}
@@ -0,0 +1,6 @@
+package com.thairam.minhasfinancas.messages;
+
+public class ExecucaoExceptionMessages {
+
+	public final static String SERVIDOR_SOBRECARREGADO = "Servidor sobrecarregado, tente novamente em instantes";
+}
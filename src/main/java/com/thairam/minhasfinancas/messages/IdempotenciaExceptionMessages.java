@@ -0,0 +1,7 @@
+package com.thairam.minhasfinancas.messages;
+
+public class IdempotenciaExceptionMessages {
+
+	public static final String CHAVE_INVALIDA = "Informe uma Idempotency-Key de até 255 caracteres";
+	public static final String CHAVE_REUTILIZADA = "Idempotency-Key já utilizada com outra requisição";
+}
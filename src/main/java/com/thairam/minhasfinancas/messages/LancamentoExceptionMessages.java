@@ -10,5 +10,19 @@ public class LancamentoExceptionMessages {
 	public static final String TIPO_INVALIDO = "Informe um tipo de lançamento";
 	public static final Object LANCAMENTO_NAO_ENCONTRADO = "Lançamento não encontrado";
 	public static final Object STATUS_INVALIDO = "Informe um status válido";
+	public static final String CURSOR_INVALIDO = "Cursor de paginação inválido";
+	public static final String CURSOR_EXPIRADO = "Eventos anteriores ao cursor já foram removidos; recarregue os lançamentos e continue a partir de proximoCursor";
+	public static final String FORMATO_EXPORTACAO_INVALIDO = "Informe um formato de exportação válido (csv ou ndjson)";
+	public static final String LINHA_CSV_INVALIDA = "Linha do arquivo CSV em formato inválido";
+	public static final String IMPORTACAO_VAZIA = "Informe ao menos um lançamento para importar";
+	public static final String IMPORTACAO_EXCEDE_LIMITE = "Quantidade de lançamentos excede o limite por importação";
+	public static final String FILTRO_LOTE_INVALIDO = "Informe o usuário e os ids ou o período dos lançamentos";
+	public static final String IDS_LOTE_EXCEDE_LIMITE = "Informe no máximo 10000 ids por alteração em lote";
+	public static final String PERIODO_RESUMO_INVALIDO = "Informe um período de no máximo 50 anos, com o ano inicial antes do final";
+	public static final String TAMANHO_PAGINA_INVALIDO = "Informe um tamanho de página entre 1 e 500";
+	public static final String FREQUENCIA_INVALIDA = "Informe uma frequência válida";
+	public static final String QUANTIDADE_PARCELAS_INVALIDA = "Informe uma quantidade de parcelas maior que zero";
+	public static final String PERIODO_RECORRENCIA_INVALIDO = "Informe um mês e ano final válidos, posteriores ao início da recorrência";
+	public static final String VERSAO_DESATUALIZADA = "O lançamento foi alterado por outra requisição, consulte-o novamente";
 
 }
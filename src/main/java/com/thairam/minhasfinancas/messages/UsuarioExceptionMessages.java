@@ -6,4 +6,7 @@ public class UsuarioExceptionMessages {
 	public final static String USUARIO_NAO_ENCONTRADO_PARA_EMAIL = "Usuário não encontrado para o email informado";
 	public final static String USUARIO_NAO_ENCONTRADO_PARA_ID_INFORMADO = "Usuário não encontrado para o Id informado";
 	public final static String EMAIL_JA_CADASTRADO = "Já existe um usuário cadastrado com este email";
+	public final static String TOKEN_INVALIDO = "Token de autenticação ausente, inválido ou expirado";
+	public final static String CHAVE_BACKOFFICE_INVALIDA = "Chave de back-office ausente ou inválida";
+	public final static String TENTATIVAS_EXCEDIDAS = "Muitas tentativas de autenticação, tente novamente mais tarde";
 }
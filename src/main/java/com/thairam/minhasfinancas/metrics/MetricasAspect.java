@@ -0,0 +1,95 @@
+package com.thairam.minhasfinancas.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import com.thairam.minhasfinancas.exceptions.ErroAutenticacao;
+import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede a latência dos serviços e repositórios e conta as exceções de negócio
+ * que saem da camada de serviço. Os histogramas são habilitados por
+ * {@code management.metrics.distribution.*} no prefixo {@code minhasfinancas}.
+ */
+@Aspect
+@Component
+public class MetricasAspect {
+
+	public static final String METRICA_SERVICO = "minhasfinancas.service";
+	public static final String METRICA_REPOSITORIO = "minhasfinancas.repository";
+	public static final String METRICA_ERROS = "minhasfinancas.erros";
+
+	private static final String PACOTE_BASE = "com.thairam.minhasfinancas.";
+	private static final String SEM_EXCECAO = "none";
+
+	private final MeterRegistry registry;
+	private final Map<Class<?>, String> nomesRepositorios = new ConcurrentHashMap<>();
+	private final ThreadLocal<int[]> profundidadeServico = ThreadLocal.withInitial( () -> new int[1] );
+
+	public MetricasAspect(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Around("execution(public * com.thairam.minhasfinancas.service.impl..*(..))")
+	public Object medirServico(ProceedingJoinPoint joinPoint) throws Throwable {
+		String classe = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+		int[] profundidade = profundidadeServico.get();
+		profundidade[0]++;
+		try {
+			return medir(METRICA_SERVICO, classe, joinPoint);
+		} catch (RegraNegocioException | ErroAutenticacao e) {
+			if(profundidade[0] == 1) {
+				registry.counter(METRICA_ERROS,
+						"excecao", e.getClass().getSimpleName(),
+						"mensagem", String.valueOf(e.getMessage())).increment();
+			}
+			throw e;
+		} finally {
+			if(--profundidade[0] == 0) {
+				profundidadeServico.remove();
+			}
+		}
+	}
+
+	@Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+	public Object medirRepositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+		String repositorio = nomesRepositorios.computeIfAbsent(joinPoint.getTarget().getClass(),
+				classe -> nomeRepositorio(joinPoint.getTarget()));
+		return medir(METRICA_REPOSITORIO, repositorio, joinPoint);
+	}
+
+	private Object medir(String metrica, String classe, ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample amostra = Timer.start(registry);
+		String excecao = SEM_EXCECAO;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			excecao = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			amostra.stop(registry.timer(metrica,
+					"class", classe,
+					"method", joinPoint.getSignature().getName(),
+					"exception", excecao));
+		}
+	}
+
+	private static String nomeRepositorio(Object repositorio) {
+		for(Class<?> interfaceRepositorio : AopProxyUtils.proxiedUserInterfaces(repositorio)) {
+			if(interfaceRepositorio.getName().startsWith(PACOTE_BASE)) {
+				return interfaceRepositorio.getSimpleName();
+			}
+		}
+		return AopUtils.getTargetClass(repositorio).getSimpleName();
+	}
+}
@@ -0,0 +1,55 @@
+package com.thairam.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Idempotency-Key recebida de um usuário e a resposta da requisição que a utilizou. A chave é
+ * reservada na mesma transação das alterações; status e corpo só ficam visíveis após o commit.
+ */
+@Entity
+@Table( name = "chave_idempotencia", schema = "financas" )
+@IdClass(ChaveIdempotenciaId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChaveIdempotencia {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Id
+	@Column(name = "chave")
+	private String chave;
+	
+	@Column(name = "operacao")
+	private String operacao;
+	
+	@Column(name = "hash_requisicao")
+	private String hashRequisicao;
+	
+	@Column(name = "status")
+	private Integer status;
+	
+	@Column(name = "corpo", columnDefinition = "text")
+	private String corpo;
+	
+	@Column(name = "data_expiracao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataExpiracao;
+}
@@ -0,0 +1,93 @@
+package com.thairam.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import com.thairam.minhasfinancas.model.enums.OperacaoLancamento;
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alteração de um lançamento, gravada na mesma transação da alteração (outbox). Guarda o estado
+ * do lançamento após a operação; em exclusões, apenas a identificação. A {@code posicao} é
+ * atribuída na publicação, em ordem de commit, e é o cursor do feed de alterações.
+ */
+@Entity
+@Table( name = "evento_lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_evento_lancamento_usuario_posicao", columnList = "id_usuario, posicao")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoLancamento {
+
+	@Id
+	@GeneratedValue( strategy = GenerationType.SEQUENCE, generator = "evento_lancamento_seq" )
+	@SequenceGenerator( name = "evento_lancamento_seq", sequenceName = "evento_lancamento_seq", schema = "financas", allocationSize = 50 )
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "posicao")
+	private Long posicao;
+	
+	@Column(name = "operacao")
+	@Enumerated(value = EnumType.STRING)
+	private OperacaoLancamento operacao;
+	
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+	
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Column(name = "versao")
+	private Long versao;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Column(name = "valor")
+	private BigDecimal valor;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+	
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+	
+	@Column(name = "data_evento")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataEvento;
+	
+	@Column(name = "data_publicacao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataPublicacao;
+}
@@ -0,0 +1,61 @@
+package com.thairam.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fechamento do mês de um usuário: receitas e despesas efetivadas acumuladas desde o primeiro
+ * lançamento até o fim da competência (ano * 12 + mes - 1). Não é editado pela API; alterações
+ * em meses já fechados são somadas a este e aos fechamentos seguintes.
+ */
+@Entity
+@Table( name = "fechamento_mensal", schema = "financas" )
+@IdClass(FechamentoMensalId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FechamentoMensal {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Id
+	@Column(name = "competencia")
+	private Integer competencia;
+	
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Column(name = "receitas")
+	private BigDecimal receitas;
+	
+	@Column(name = "despesas")
+	private BigDecimal despesas;
+	
+	@Column(name = "data_fechamento", columnDefinition = "date")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataFechamento;
+	
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+}
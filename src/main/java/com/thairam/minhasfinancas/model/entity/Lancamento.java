@@ -3,30 +3,58 @@ package com.thairam.minhasfinancas.model.entity;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import com.thairam.minhasfinancas.model.enums.StatusLancamento;
 import com.thairam.minhasfinancas.model.enums.TipoLancamento;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table( name = "lancamento", schema = "financas" )
+// idx_lancamento_usuario_descricao, sobre lower(descricao) text_pattern_ops, existe só nas migrações
+@Table( name = "lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_lancamento_usuario_ano_mes", columnList = "id_usuario, ano, mes, id"),
+		@Index(name = "idx_lancamento_usuario_status_tipo_valor", columnList = "id_usuario, status, tipo, valor")
+}, uniqueConstraints = {
+		@UniqueConstraint(name = "uk_lancamento_recorrencia_parcela", columnNames = { "id_recorrencia", "parcela" })
+})
+@IdClass(LancamentoId.class)
+@Cacheable
+@Cache( usage = CacheConcurrencyStrategy.READ_WRITE, region = "lancamento" )
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -34,7 +62,8 @@ import lombok.NoArgsConstructor;
 public class Lancamento {
 	
 	@Id
-	@GeneratedValue( strategy = GenerationType.IDENTITY)
+	@GeneratedValue( strategy = GenerationType.SEQUENCE, generator = "lancamento_seq" )
+	@SequenceGenerator( name = "lancamento_seq", sequenceName = "lancamento_seq", schema = "financas", allocationSize = 50 )
 	@Column(name = "id")
 	private Long id;
 	
@@ -44,17 +73,21 @@ public class Lancamento {
 	@Column(name = "mes")
 	private Integer mes;
 	
+	/** parte da chave porque a tabela é particionada por ano: UPDATE e DELETE por (id, ano) leem uma só partição */
+	@Id
 	@Column(name = "ano")
 	private Integer ano;
 	
-	@ManyToOne 
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private Usuario usuario;
 	
 	@Column(name = "valor")
 	private BigDecimal valor;
 	
-	@Column(name = "data_cadastro")
+	@Column(name = "data_cadastro", columnDefinition = "date")
 	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
 	private LocalDate dataCadastro;
 	
@@ -66,4 +99,36 @@ public class Lancamento {
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;	
 	
+	@Column(name = "id_recorrencia")
+	private Long idRecorrencia;
+	
+	@Column(name = "parcela")
+	private Integer parcela;
+	
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+	
+	@Transient
+	@JsonIgnore
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private Lancamento estadoPersistido;
+	
+	@PostLoad
+	@PostPersist
+	@PostUpdate
+	public void registrarEstadoPersistido() {
+		this.estadoPersistido = Lancamento.builder()
+				.id(id)
+				.mes(mes)
+				.ano(ano)
+				.usuario(usuario)
+				.valor(valor)
+				.tipo(tipo)
+				.status(status)
+				.versao(versao)
+				.build();
+	}
+	
 }
@@ -0,0 +1,18 @@
+package com.thairam.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private Integer ano;
+}
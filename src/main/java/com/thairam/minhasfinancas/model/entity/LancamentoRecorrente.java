@@ -0,0 +1,117 @@
+package com.thairam.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import com.thairam.minhasfinancas.model.enums.FrequenciaRecorrencia;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Modelo de um lançamento que se repete. As parcelas são geradas como {@link Lancamento}
+ * com antecedência; {@code proximaCompetencia} (ano * 12 + mes - 1) é a competência da próxima
+ * parcela ainda não gerada, ou null quando a recorrência terminou.
+ */
+@Entity
+@Table( name = "lancamento_recorrente", schema = "financas", indexes = {
+		@Index(name = "idx_lancamento_recorrente_proxima_competencia", columnList = "proxima_competencia"),
+		@Index(name = "idx_lancamento_recorrente_usuario", columnList = "id_usuario")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoRecorrente {
+	
+	@Id
+	@GeneratedValue( strategy = GenerationType.SEQUENCE, generator = "lancamento_recorrente_seq" )
+	@SequenceGenerator( name = "lancamento_recorrente_seq", sequenceName = "lancamento_recorrente_seq", schema = "financas", allocationSize = 50 )
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private Usuario usuario;
+	
+	@Column(name = "valor")
+	private BigDecimal valor;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+	
+	@Column(name = "frequencia")
+	@Enumerated(value = EnumType.STRING)
+	private FrequenciaRecorrencia frequencia;
+	
+	@Column(name = "mes_inicial")
+	private Integer mesInicial;
+	
+	@Column(name = "ano_inicial")
+	private Integer anoInicial;
+	
+	@Column(name = "quantidade_parcelas")
+	private Integer quantidadeParcelas;
+	
+	@Column(name = "mes_final")
+	private Integer mesFinal;
+	
+	@Column(name = "ano_final")
+	private Integer anoFinal;
+	
+	@Column(name = "proxima_parcela")
+	private Integer proximaParcela;
+	
+	@Column(name = "proxima_competencia")
+	private Integer proximaCompetencia;
+	
+	@Column(name = "data_cadastro", columnDefinition = "date")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataCadastro;
+	
+	public static int competencia(int ano, int mes) {
+		return ano * 12 + mes - 1;
+	}
+	
+	public int competenciaDaParcela(int parcela) {
+		return competencia(anoInicial, mesInicial) + (parcela - 1) * frequencia.getMeses();
+	}
+	
+	public boolean possuiParcela(int parcela) {
+		return (quantidadeParcelas == null || parcela <= quantidadeParcelas)
+				&& (anoFinal == null || competenciaDaParcela(parcela) <= competencia(anoFinal, mesFinal));
+	}
+	
+	public void avancarParcela() {
+		proximaParcela++;
+		proximaCompetencia = possuiParcela(proximaParcela) ? competenciaDaParcela(proximaParcela) : null;
+	}
+}
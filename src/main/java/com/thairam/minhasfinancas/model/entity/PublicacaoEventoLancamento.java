@@ -0,0 +1,37 @@
+package com.thairam.minhasfinancas.model.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha única com a última posição atribuída aos eventos publicados. O bloqueio dela
+ * serializa as publicações, então as posições crescem na ordem de commit.
+ */
+@Entity
+@Table( name = "publicacao_evento_lancamento", schema = "financas" )
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicacaoEventoLancamento {
+
+	public static final Integer ID = 1;
+
+	@Id
+	@Column(name = "id")
+	private Integer id;
+	
+	@Column(name = "ultima_posicao")
+	private Long ultimaPosicao;
+	
+	/** eventos até esta posição já foram removidos pela limpeza */
+	@Column(name = "ultima_posicao_removida")
+	private Long ultimaPosicaoRemovida;
+}
@@ -0,0 +1,20 @@
+package com.thairam.minhasfinancas.model.enums;
+
+public enum FrequenciaRecorrencia {
+	
+	MENSAL(1),
+	BIMESTRAL(2),
+	TRIMESTRAL(3),
+	SEMESTRAL(6),
+	ANUAL(12);
+	
+	private final int meses;
+	
+	FrequenciaRecorrencia(int meses) {
+		this.meses = meses;
+	}
+	
+	public int getMeses() {
+		return meses;
+	}
+}
@@ -0,0 +1,8 @@
+package com.thairam.minhasfinancas.model.enums;
+
+public enum OperacaoLancamento {
+
+	INCLUSAO,
+	ALTERACAO,
+	EXCLUSAO
+}
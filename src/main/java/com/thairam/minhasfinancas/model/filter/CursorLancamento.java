@@ -0,0 +1,44 @@
+package com.thairam.minhasfinancas.model.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CursorLancamento {
+
+	private static final String SEPARADOR = ":";
+	
+	private Integer ano;
+	private Integer mes;
+	private Long id;
+	
+	public static CursorLancamento de(LancamentoResumo lancamento) {
+		return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+	}
+	
+	public static CursorLancamento decodificar(String token) {
+		try {
+			String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] partes = valor.split(SEPARADOR);
+			return new CursorLancamento(
+					Integer.valueOf(partes[0]), 
+					Integer.valueOf(partes[1]), 
+					Long.valueOf(partes[2]));
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.CURSOR_INVALIDO);
+		}
+	}
+	
+	public String codificar() {
+		String valor = ano + SEPARADOR + mes + SEPARADOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,30 @@
+package com.thairam.minhasfinancas.model.filter;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoFiltro {
+
+	private Collection<Long> ids;
+	private Long usuario;
+	private Integer ano;
+	private Integer mes;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private BigDecimal valorMinimo;
+	private BigDecimal valorMaximo;
+	private String descricao;
+	private CursorLancamento cursor;
+}
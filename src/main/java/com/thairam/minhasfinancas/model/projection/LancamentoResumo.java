@@ -0,0 +1,42 @@
+package com.thairam.minhasfinancas.model.projection;
+
+import java.math.BigDecimal;
+
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoResumo {
+
+	private Long id;
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private BigDecimal valor;
+	private Long usuario;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private Long versao;
+	
+	public Lancamento paraLancamento() {
+		return Lancamento.builder()
+				.id(id)
+				.descricao(descricao)
+				.mes(mes)
+				.ano(ano)
+				.valor(valor)
+				.usuario(Usuario.builder().id(usuario).build())
+				.tipo(tipo)
+				.status(status)
+				.versao(versao)
+				.build();
+	}
+}
@@ -0,0 +1,17 @@
+package com.thairam.minhasfinancas.model.projection;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoAtualizacaoLote {
+
+	private int atualizados;
+	/** ids cuja versão esperada não corresponde à versão bloqueada: esses lançamentos não foram alterados */
+	private List<Long> conflitos;
+}
@@ -0,0 +1,31 @@
+package com.thairam.minhasfinancas.model.projection;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoConsolidado {
+
+	private Long idUsuario;
+	private BigDecimal receitasEfetivadas;
+	private BigDecimal despesasEfetivadas;
+	private BigDecimal receitasPendentes;
+	private BigDecimal despesasPendentes;
+	
+	public BigDecimal getSaldo() {
+		return receitasEfetivadas.subtract(despesasEfetivadas);
+	}
+	
+	public BigDecimal getSaldoPendente() {
+		return receitasPendentes.subtract(despesasPendentes);
+	}
+	
+	public BigDecimal getSaldoProjetado() {
+		return getSaldo().add(getSaldoPendente());
+	}
+}
@@ -0,0 +1,58 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.thairam.minhasfinancas.model.entity.ChaveIdempotencia;
+import com.thairam.minhasfinancas.model.entity.ChaveIdempotenciaId;
+
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, ChaveIdempotenciaId> {
+
+	@Query( value = " "
+			+ "SELECT c FROM ChaveIdempotencia c "
+			+ "WHERE c.idUsuario = :idUsuario AND c.chave = :chave AND c.dataExpiracao > :agora ")
+	Optional<ChaveIdempotencia> obterValida(
+			@Param("idUsuario") Long idUsuario,
+			@Param("chave") String chave,
+			@Param("agora") LocalDateTime agora);
+	
+	/** INSERT explícito: save faria merge e sobrescreveria a chave de outra requisição */
+	@Modifying
+	@Query( value = " "
+			+ "INSERT INTO financas.chave_idempotencia (id_usuario, chave, operacao, hash_requisicao, data_expiracao) "
+			+ "VALUES (:idUsuario, :chave, :operacao, :hashRequisicao, :dataExpiracao) ", nativeQuery = true)
+	int reservar(
+			@Param("idUsuario") Long idUsuario,
+			@Param("chave") String chave,
+			@Param("operacao") String operacao,
+			@Param("hashRequisicao") String hashRequisicao,
+			@Param("dataExpiracao") LocalDateTime dataExpiracao);
+	
+	@Modifying
+	@Query( value = " "
+			+ "UPDATE ChaveIdempotencia c SET c.status = :status, c.corpo = :corpo "
+			+ "WHERE c.idUsuario = :idUsuario AND c.chave = :chave ")
+	int registrarResposta(
+			@Param("idUsuario") Long idUsuario,
+			@Param("chave") String chave,
+			@Param("status") Integer status,
+			@Param("corpo") String corpo);
+	
+	@Modifying
+	@Query( value = " "
+			+ "DELETE FROM ChaveIdempotencia c "
+			+ "WHERE c.idUsuario = :idUsuario AND c.chave = :chave AND c.dataExpiracao <= :agora ")
+	int removerExpirada(
+			@Param("idUsuario") Long idUsuario,
+			@Param("chave") String chave,
+			@Param("agora") LocalDateTime agora);
+	
+	@Modifying
+	@Query( value = "DELETE FROM ChaveIdempotencia c WHERE c.dataExpiracao <= :agora ")
+	int removerExpiradas(@Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,36 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.thairam.minhasfinancas.model.entity.EventoLancamento;
+
+public interface EventoLancamentoRepository extends JpaRepository<EventoLancamento, Long> {
+
+	@Query( value = "SELECT e FROM EventoLancamento e WHERE e.posicao IS NULL ORDER BY e.id ")
+	List<EventoLancamento> obterNaoPublicados(Pageable pagina);
+	
+	@Query( value = " "
+			+ "SELECT e FROM EventoLancamento e "
+			+ "WHERE e.idUsuario = :idUsuario AND e.posicao > :posicao ORDER BY e.posicao ")
+	List<EventoLancamento> obterPublicadosApos(
+			@Param("idUsuario") Long idUsuario,
+			@Param("posicao") Long posicao,
+			Pageable pagina);
+	
+	@Query( value = "SELECT e FROM EventoLancamento e WHERE e.posicao > :posicao ORDER BY e.posicao ")
+	List<EventoLancamento> obterTodosPublicadosApos(@Param("posicao") Long posicao, Pageable pagina);
+	
+	@Query( value = "SELECT max(e.posicao) FROM EventoLancamento e WHERE e.dataPublicacao < :limite ")
+	Long obterUltimaPosicaoPublicadaAntesDe(@Param("limite") LocalDateTime limite);
+	
+	@Modifying
+	@Query( value = "DELETE FROM EventoLancamento e WHERE e.dataPublicacao < :limite ")
+	int removerPublicadosAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,31 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.thairam.minhasfinancas.model.entity.FechamentoMensal;
+import com.thairam.minhasfinancas.model.entity.FechamentoMensalId;
+
+public interface FechamentoMensalRepository extends JpaRepository<FechamentoMensal, FechamentoMensalId> {
+
+	Optional<FechamentoMensal> findFirstByIdUsuarioOrderByCompetenciaDesc(Long idUsuario);
+	
+	Optional<FechamentoMensal> findFirstByIdUsuarioAndCompetenciaLessThanEqualOrderByCompetenciaDesc(
+			Long idUsuario, Integer competencia);
+	
+	@Modifying
+	@Query( value = " "
+			+ "UPDATE FechamentoMensal f SET f.receitas = f.receitas + :receitas, f.despesas = f.despesas + :despesas "
+			+ "WHERE f.idUsuario = :idUsuario AND f.competencia BETWEEN :competenciaInicial AND :competenciaFinal ")
+	int adicionarMovimento(
+			@Param("idUsuario") Long idUsuario,
+			@Param("competenciaInicial") Integer competenciaInicial,
+			@Param("competenciaFinal") Integer competenciaFinal,
+			@Param("receitas") BigDecimal receitas,
+			@Param("despesas") BigDecimal despesas);
+}
@@ -0,0 +1,36 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.thairam.minhasfinancas.model.entity.LancamentoRecorrente;
+
+public interface LancamentoRecorrenteRepository extends JpaRepository<LancamentoRecorrente, Long> {
+
+	/**
+	 * SELECT ... FOR UPDATE SKIP LOCKED (timeout -2 no Hibernate): cada nó reserva um lote diferente
+	 * das recorrências com parcelas a gerar até a competência limite.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+	@Query( value = " "
+			+ "SELECT r FROM LancamentoRecorrente r "
+			+ "WHERE r.proximaCompetencia <= :competenciaLimite ORDER BY r.id ")
+	List<LancamentoRecorrente> reservarPendentes(
+			@Param("competenciaLimite") Integer competenciaLimite,
+			Pageable pagina);
+	
+	List<LancamentoRecorrente> findByUsuarioIdOrderById(Long idUsuario);
+	
+	Optional<LancamentoRecorrente> findByIdAndUsuarioId(Long id, Long idUsuario);
+}
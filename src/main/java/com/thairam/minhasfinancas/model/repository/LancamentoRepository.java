@@ -1,17 +1,46 @@
 package com.thairam.minhasfinancas.model.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.LancamentoId;
 import com.thairam.minhasfinancas.model.enums.StatusLancamento;
 import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+import com.thairam.minhasfinancas.model.projection.ResumoMensal;
+import com.thairam.minhasfinancas.model.projection.SaldoConsolidado;
+
+public interface LancamentoRepository extends JpaRepository<Lancamento, LancamentoId>, LancamentoRepositoryCustom{
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long>{
+	String SELECAO_SALDO_CONSOLIDADO = " "
+			+ "SELECT new com.thairam.minhasfinancas.model.projection.SaldoConsolidado(u.id, "
+			+ "SUM(CASE WHEN l.status = :efetivado AND l.tipo = :receita THEN l.valor ELSE 0 END), "
+			+ "SUM(CASE WHEN l.status = :efetivado AND l.tipo = :despesa THEN l.valor ELSE 0 END), "
+			+ "SUM(CASE WHEN l.status = :pendente AND l.tipo = :receita THEN l.valor ELSE 0 END), "
+			+ "SUM(CASE WHEN l.status = :pendente AND l.tipo = :despesa THEN l.valor ELSE 0 END)) "
+			+ "FROM Usuario u LEFT JOIN Lancamento l ON l.usuario.id = u.id AND l.status IN (:efetivado, :pendente) ";
 
+	@QueryHints({
+		@QueryHint(name = HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HINT_CACHE_REGION, value = "saldo")
+	})
 	@Query( value = " "
 			+ "SELECT SUM(l.valor) FROM Lancamento l JOIN l.usuario u "
 			+ "WHERE u.id = :idUsuario and l.tipo =:tipo and l.status = :status group by u ")
@@ -19,4 +48,77 @@ public interface LancamentoRepository extends JpaRepository<Lancamento, Long>{
 			@Param("idUsuario")Long idUsuario, 
 			@Param("tipo")TipoLancamento tipo,
 			@Param("status")StatusLancamento status);
+	
+	@Query( value = "SELECT MIN(l.ano) FROM Lancamento l WHERE l.usuario.id = :idUsuario AND l.status = :status ")
+	Integer obterPrimeiroAno(@Param("idUsuario") Long idUsuario, @Param("status") StatusLancamento status);
+	
+	@QueryHints({
+		@QueryHint(name = HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HINT_CACHE_REGION, value = "saldo")
+	})
+	@Query( value = SELECAO_SALDO_CONSOLIDADO
+			+ "WHERE u.id = :idUsuario "
+			+ "GROUP BY u.id ")
+	Optional<SaldoConsolidado> obterSaldoConsolidado(
+			@Param("idUsuario") Long idUsuario,
+			@Param("efetivado") StatusLancamento efetivado,
+			@Param("pendente") StatusLancamento pendente,
+			@Param("receita") TipoLancamento receita,
+			@Param("despesa") TipoLancamento despesa);
+	
+	@Query( value = SELECAO_SALDO_CONSOLIDADO
+			+ "WHERE u.id IN :idsUsuarios "
+			+ "GROUP BY u.id ORDER BY u.id ")
+	List<SaldoConsolidado> obterSaldosConsolidados(
+			@Param("idsUsuarios") Collection<Long> idsUsuarios,
+			@Param("efetivado") StatusLancamento efetivado,
+			@Param("pendente") StatusLancamento pendente,
+			@Param("receita") TipoLancamento receita,
+			@Param("despesa") TipoLancamento despesa);
+	
+	@Query( value = SELECAO_SALDO_CONSOLIDADO
+			+ "WHERE u.id > :ultimoUsuario "
+			+ "GROUP BY u.id ORDER BY u.id ")
+	List<SaldoConsolidado> obterSaldosConsolidadosAposUsuario(
+			@Param("ultimoUsuario") Long ultimoUsuario,
+			@Param("efetivado") StatusLancamento efetivado,
+			@Param("pendente") StatusLancamento pendente,
+			@Param("receita") TipoLancamento receita,
+			@Param("despesa") TipoLancamento despesa,
+			Pageable pagina);
+	
+	/** sem o ano, a busca passa pelo índice da chave primária de cada partição */
+	@Query( value = "SELECT l FROM Lancamento l WHERE l.id = :id ")
+	Optional<Lancamento> obterPorId(@Param("id") Long id);
+	
+	@Query( value = " "
+			+ "SELECT new com.thairam.minhasfinancas.model.projection.LancamentoResumo("
+			+ "l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.versao) "
+			+ "FROM Lancamento l WHERE l.id = :id ")
+	Optional<LancamentoResumo> obterResumoPorId(@Param("id") Long id);
+	
+	@Query( value = " "
+			+ "SELECT new com.thairam.minhasfinancas.model.projection.ResumoMensal(l.ano, l.mes, "
+			+ "SUM(CASE WHEN l.tipo = :receita THEN l.valor ELSE 0 END), "
+			+ "SUM(CASE WHEN l.tipo = :despesa THEN l.valor ELSE 0 END)) "
+			+ "FROM Lancamento l "
+			+ "WHERE l.usuario.id = :idUsuario AND l.status IN :status AND l.ano BETWEEN :anoInicial AND :anoFinal "
+			+ "GROUP BY l.ano, l.mes ORDER BY l.ano, l.mes ")
+	List<ResumoMensal> obterResumoMensal(
+			@Param("idUsuario") Long idUsuario,
+			@Param("anoInicial") Integer anoInicial,
+			@Param("anoFinal") Integer anoFinal,
+			@Param("status") Collection<StatusLancamento> status,
+			@Param("receita") TipoLancamento receita,
+			@Param("despesa") TipoLancamento despesa);
+	
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+		@QueryHint(name = HINT_READONLY, value = "true")
+	})
+	@Query( value = " "
+			+ "SELECT new com.thairam.minhasfinancas.model.projection.LancamentoResumo("
+			+ "l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.versao) "
+			+ "FROM Lancamento l WHERE l.usuario.id = :idUsuario ORDER BY l.ano, l.mes, l.id ")
+	Stream<LancamentoResumo> exportarPorUsuario(@Param("idUsuario") Long idUsuario);
 }
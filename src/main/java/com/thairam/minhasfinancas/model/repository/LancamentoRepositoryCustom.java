@@ -0,0 +1,40 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+
+public interface LancamentoRepositoryCustom {
+
+	/** todos os lançamentos do filtro, com a descrição em qualquer posição (sem diferenciar maiúsculas) */
+	List<LancamentoResumo> buscar(LancamentoFiltro filtro);
+	
+	/** ordenado por (ano, mes, id) decrescente, continuando após o cursor do filtro */
+	List<LancamentoResumo> pesquisar(LancamentoFiltro filtro, int limite);
+	
+	/**
+	 * bloqueia (SELECT ... FOR UPDATE) os lançamentos do filtro que ainda não estão no novo status e devolve
+	 * o estado de cada um antes da alteração
+	 */
+	List<LancamentoResumo> bloquearParaAlteracaoDeStatus(LancamentoFiltro filtro, StatusLancamento novoStatus);
+	
+	/**
+	 * altera o status e incrementa a versão dos lançamentos informados, em UPDATE por lote de ids. Entidades já
+	 * carregadas no contexto de persistência não são atualizadas.
+	 */
+	int atualizarStatus(List<LancamentoResumo> lancamentos, StatusLancamento novoStatus);
+	
+	/**
+	 * muda o ano (parte da chave) do lançamento na versão informada, incrementando a versão. No PostgreSQL a
+	 * linha troca de partição, então o UPDATE vira DELETE seguido de INSERT. A entidade informada é desanexada e
+	 * a devolvida é a recarregada pela nova chave; vazio se a versão não confere.
+	 */
+	Optional<Lancamento> moverParaAno(Lancamento lancamento, Integer novoAno);
+	
+	/** persiste em lotes do tamanho do batch JDBC, desanexando do contexto de persistência cada lote gravado */
+	List<Lancamento> inserirEmLote(List<Lancamento> lancamentos);
+}
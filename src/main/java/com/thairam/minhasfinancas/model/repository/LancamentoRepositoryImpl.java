@@ -0,0 +1,218 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.LancamentoId;
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.filter.CursorLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+	private static final char ESCAPE = '\\';
+	private static final int TAMANHO_LOTE_IDS = 1000;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int tamanhoLote;
+
+	@Override
+	public List<LancamentoResumo> pesquisar(LancamentoFiltro filtro, int limite) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoResumo> query = cb.createQuery(LancamentoResumo.class);
+		Root<Lancamento> lancamento = query.from(Lancamento.class);
+
+		query.select(construirResumo(cb, lancamento));
+		query.where(criarRestricoes(cb, lancamento, filtro).toArray(new Predicate[0]));
+		query.orderBy(cb.desc(lancamento.get("ano")), cb.desc(lancamento.get("mes")), cb.desc(lancamento.get("id")));
+
+		return entityManager.createQuery(query)
+				.setMaxResults(limite)
+				.getResultList();
+	}
+
+	@Override
+	public List<LancamentoResumo> buscar(LancamentoFiltro filtro) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoResumo> query = cb.createQuery(LancamentoResumo.class);
+		Root<Lancamento> lancamento = query.from(Lancamento.class);
+
+		LancamentoFiltro semDescricao = filtro.toBuilder().descricao(null).build();
+		List<Predicate> restricoes = criarRestricoes(cb, lancamento, semDescricao);
+		if(filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+			restricoes.add(cb.like(cb.lower(lancamento.get("descricao")),
+					"%" + escapar(filtro.getDescricao()) + "%", ESCAPE));
+		}
+
+		query.select(construirResumo(cb, lancamento));
+		query.where(restricoes.toArray(new Predicate[0]));
+
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	@Override
+	public List<LancamentoResumo> bloquearParaAlteracaoDeStatus(LancamentoFiltro filtro, StatusLancamento novoStatus) {
+		if(filtro.getIds() == null || filtro.getIds().isEmpty()) {
+			return bloquear(filtro, novoStatus);
+		}
+		
+		List<LancamentoResumo> lancamentos = new ArrayList<>();
+		List<Long> ids = new ArrayList<>(filtro.getIds());
+		for(int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE_IDS) {
+			List<Long> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE_IDS, ids.size()));
+			lancamentos.addAll(bloquear(filtro.toBuilder().ids(lote).build(), novoStatus));
+		}
+		return lancamentos;
+	}
+
+	@Override
+	public int atualizarStatus(List<LancamentoResumo> lancamentos, StatusLancamento novoStatus) {
+		int atualizados = 0;
+		for(int inicio = 0; inicio < lancamentos.size(); inicio += TAMANHO_LOTE_IDS) {
+			List<LancamentoResumo> lote = lancamentos.subList(inicio, Math.min(inicio + TAMANHO_LOTE_IDS, lancamentos.size()));
+			atualizados += entityManager.createQuery(" "
+					+ "UPDATE Lancamento l SET l.status = :novoStatus, l.versao = l.versao + 1 "
+					+ "WHERE l.id IN (:ids) AND l.ano IN (:anos) ")
+					.setParameter("novoStatus", novoStatus)
+					.setParameter("ids", lote.stream().map(LancamentoResumo::getId).collect(Collectors.toList()))
+					.setParameter("anos", lote.stream().map(LancamentoResumo::getAno).distinct().collect(Collectors.toList()))
+					.executeUpdate();
+		}
+		return atualizados;
+	}
+
+	@Override
+	public Optional<Lancamento> moverParaAno(Lancamento lancamento, Integer novoAno) {
+		int movidos = entityManager.createQuery(" "
+				+ "UPDATE Lancamento l SET l.ano = :novoAno, l.versao = l.versao + 1 "
+				+ "WHERE l.id = :id AND l.ano = :ano AND l.versao = :versao ")
+				.setParameter("novoAno", novoAno)
+				.setParameter("id", lancamento.getId())
+				.setParameter("ano", lancamento.getAno())
+				.setParameter("versao", lancamento.getVersao())
+				.executeUpdate();
+		entityManager.detach(lancamento);
+		if(movidos == 0) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(entityManager.find(Lancamento.class, new LancamentoId(lancamento.getId(), novoAno)));
+	}
+
+	@Override
+	public List<Lancamento> inserirEmLote(List<Lancamento> lancamentos) {
+		for(int inicio = 0; inicio < lancamentos.size(); inicio += tamanhoLote) {
+			List<Lancamento> lote = lancamentos.subList(inicio, Math.min(inicio + tamanhoLote, lancamentos.size()));
+			lote.forEach(entityManager::persist);
+			entityManager.flush();
+			lote.forEach(entityManager::detach);
+		}
+		return lancamentos;
+	}
+
+	private List<LancamentoResumo> bloquear(LancamentoFiltro filtro, StatusLancamento novoStatus) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoResumo> query = cb.createQuery(LancamentoResumo.class);
+		Root<Lancamento> lancamento = query.from(Lancamento.class);
+
+		List<Predicate> restricoes = criarRestricoes(cb, lancamento, filtro);
+		restricoes.add(cb.notEqual(lancamento.get("status"), novoStatus));
+
+		query.select(construirResumo(cb, lancamento));
+		query.where(restricoes.toArray(new Predicate[0]));
+
+		return entityManager.createQuery(query)
+				.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+				.getResultList();
+	}
+
+	private CompoundSelection<LancamentoResumo> construirResumo(CriteriaBuilder cb, Root<Lancamento> lancamento) {
+		return cb.construct(LancamentoResumo.class,
+				lancamento.get("id"),
+				lancamento.get("descricao"),
+				lancamento.get("mes"),
+				lancamento.get("ano"),
+				lancamento.get("valor"),
+				lancamento.get("usuario").get("id"),
+				lancamento.get("tipo"),
+				lancamento.get("status"),
+				lancamento.get("versao"));
+	}
+
+	private List<Predicate> criarRestricoes(CriteriaBuilder cb, Root<Lancamento> lancamento, LancamentoFiltro filtro) {
+		List<Predicate> restricoes = new ArrayList<>();
+
+		if(filtro.getIds() != null && !filtro.getIds().isEmpty()) {
+			restricoes.add(lancamento.get("id").in(filtro.getIds()));
+		}
+		if(filtro.getUsuario() != null) {
+			restricoes.add(cb.equal(lancamento.get("usuario").get("id"), filtro.getUsuario()));
+		}
+		if(filtro.getAno() != null) {
+			restricoes.add(cb.equal(lancamento.get("ano"), filtro.getAno()));
+		}
+		if(filtro.getMes() != null) {
+			restricoes.add(cb.equal(lancamento.get("mes"), filtro.getMes()));
+		}
+		if(filtro.getTipo() != null) {
+			restricoes.add(cb.equal(lancamento.get("tipo"), filtro.getTipo()));
+		}
+		if(filtro.getStatus() != null) {
+			restricoes.add(cb.equal(lancamento.get("status"), filtro.getStatus()));
+		}
+		if(filtro.getValorMinimo() != null) {
+			restricoes.add(cb.greaterThanOrEqualTo(lancamento.get("valor"), filtro.getValorMinimo()));
+		}
+		if(filtro.getValorMaximo() != null) {
+			restricoes.add(cb.lessThanOrEqualTo(lancamento.get("valor"), filtro.getValorMaximo()));
+		}
+		if(filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+			restricoes.add(cb.like(cb.lower(lancamento.get("descricao")),
+					prefixo(filtro.getDescricao()), ESCAPE));
+		}
+		if(filtro.getCursor() != null) {
+			restricoes.add(aposCursor(cb, lancamento, filtro.getCursor()));
+		}
+		return restricoes;
+	}
+
+	private Predicate aposCursor(CriteriaBuilder cb, Root<Lancamento> lancamento, CursorLancamento cursor) {
+		Path<Integer> ano = lancamento.get("ano");
+		Path<Integer> mes = lancamento.get("mes");
+		Path<Long> id = lancamento.get("id");
+
+		return cb.or(
+				cb.lessThan(ano, cursor.getAno()),
+				cb.and(cb.equal(ano, cursor.getAno()), cb.lessThan(mes, cursor.getMes())),
+				cb.and(cb.equal(ano, cursor.getAno()), cb.equal(mes, cursor.getMes()), cb.lessThan(id, cursor.getId())));
+	}
+
+	private static String prefixo(String descricao) {
+		return escapar(descricao) + "%";
+	}
+
+	private static String escapar(String descricao) {
+		return descricao.trim().toLowerCase()
+				.replace(String.valueOf(ESCAPE), "" + ESCAPE + ESCAPE)
+				.replace("%", ESCAPE + "%")
+				.replace("_", ESCAPE + "_");
+	}
+}
@@ -0,0 +1,19 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.thairam.minhasfinancas.model.entity.PublicacaoEventoLancamento;
+
+public interface PublicacaoEventoLancamentoRepository extends JpaRepository<PublicacaoEventoLancamento, Integer> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query( value = "SELECT p FROM PublicacaoEventoLancamento p WHERE p.id = :id ")
+	Optional<PublicacaoEventoLancamento> obterParaAtualizacao(@Param("id") Integer id);
+}
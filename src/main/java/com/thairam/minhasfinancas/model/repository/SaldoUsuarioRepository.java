@@ -0,0 +1,38 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.thairam.minhasfinancas.model.entity.SaldoUsuario;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long>{
+
+	@Modifying
+	@Query( value = " "
+			+ "UPDATE SaldoUsuario s SET s.receitas = s.receitas + :receitas, s.despesas = s.despesas + :despesas "
+			+ "WHERE s.idUsuario = :idUsuario ")
+	int adicionarMovimento(
+			@Param("idUsuario") Long idUsuario,
+			@Param("receitas") BigDecimal receitas,
+			@Param("despesas") BigDecimal despesas);
+	
+	/** serializa a criação do saldo do usuário, que ainda não tem linha em saldo_usuario para bloquear */
+	@Query( value = "SELECT u.id FROM financas.usuario u WHERE u.id = :idUsuario FOR UPDATE ", nativeQuery = true)
+	Long bloquearUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query( value = "SELECT s FROM SaldoUsuario s WHERE s.idUsuario = :idUsuario ")
+	Optional<SaldoUsuario> obterParaAtualizacao(@Param("idUsuario") Long idUsuario);
+	
+	List<SaldoUsuario> findByIdUsuarioGreaterThanOrderByIdUsuario(Long idUsuario, Pageable pageable);
+}
@@ -2,13 +2,31 @@ package com.thairam.minhasfinancas.model.repository;
 
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.thairam.minhasfinancas.config.CacheConfiguration;
 import com.thairam.minhasfinancas.model.entity.Usuario;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>{
 	
 	boolean existsByEmail(String email);
 	
+	@Cacheable(cacheNames = CacheConfiguration.USUARIOS_POR_EMAIL, key = "#p0", unless = "#result == null")
 	Optional<Usuario> findByEmail(String email);
+	
+	@Transactional
+	@Modifying
+	@Caching(evict = {
+			@CacheEvict(cacheNames = CacheConfiguration.USUARIOS, key = "#p0"),
+			@CacheEvict(cacheNames = CacheConfiguration.USUARIOS_POR_EMAIL, key = "#p1")
+	})
+	@Query( value = "UPDATE Usuario u SET u.senha = :senha WHERE u.id = :id AND u.email = :email ")
+	int atualizarSenha(@Param("id") Long id, @Param("email") String email, @Param("senha") String senha);
 }
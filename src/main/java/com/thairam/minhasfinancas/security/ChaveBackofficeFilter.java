@@ -0,0 +1,67 @@
+package com.thairam.minhasfinancas.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.thairam.minhasfinancas.messages.UsuarioExceptionMessages;
+
+/**
+ * Protege as rotas de back-office, que expõem dados de todos os usuários, e os endpoints do actuator
+ * (exceto health) com uma chave própria enviada em {@code Authorization: Bearer}; o token de usuário
+ * não dá acesso a elas. Sem a chave configurada as rotas ficam fechadas.
+ */
+@Component
+public class ChaveBackofficeFilter extends OncePerRequestFilter {
+
+	public static final String URL_BACKOFFICE = "/api/backoffice";
+	public static final String URL_ACTUATOR = "/actuator";
+
+	private static final String URL_HEALTH = "/actuator/health";
+
+	private static final String PREFIXO_BEARER = "Bearer ";
+
+	private final byte[] chave;
+
+	public ChaveBackofficeFilter(@Value("${minhasfinancas.backoffice.chave:}") String chave) {
+		this.chave = chave.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		if(HttpMethod.OPTIONS.matches(request.getMethod())) {
+			return true;
+		}
+		if(caminho.startsWith(URL_ACTUATOR)) {
+			return caminho.equals(URL_HEALTH) || caminho.startsWith(URL_HEALTH + "/");
+		}
+		return !caminho.startsWith(URL_BACKOFFICE);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if(chave.length == 0 || autorizacao == null || !autorizacao.startsWith(PREFIXO_BEARER)
+				|| !MessageDigest.isEqual(chave, 
+						autorizacao.substring(PREFIXO_BEARER.length()).trim().getBytes(StandardCharsets.UTF_8))) {
+			response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+			response.setContentType("text/plain;charset=UTF-8");
+			response.getWriter().write(UsuarioExceptionMessages.CHAVE_BACKOFFICE_INVALIDA);
+			return;
+		}
+		filterChain.doFilter(request, response);
+	}
+}
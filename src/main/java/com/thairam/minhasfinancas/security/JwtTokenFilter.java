@@ -0,0 +1,84 @@
+package com.thairam.minhasfinancas.security;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.thairam.minhasfinancas.messages.UsuarioExceptionMessages;
+import com.thairam.minhasfinancas.service.JwtService;
+
+/**
+ * Valida o token enviado em {@code Authorization: Bearer} apenas pela assinatura, sem consultar o banco,
+ * e disponibiliza o usuário para os controllers no atributo {@link #ATRIBUTO_USUARIO}. O stream de eventos
+ * também aceita o ticket de {@link JwtService#gerarTicketEventos} no parâmetro {@code ticket}. Back-office e
+ * actuator são autenticados por {@link ChaveBackofficeFilter}.
+ */
+@Component
+public class JwtTokenFilter extends OncePerRequestFilter {
+
+	public static final String ATRIBUTO_USUARIO = "minhasfinancas.usuarioAutenticado";
+
+	private static final String PREFIXO_BEARER = "Bearer ";
+	private static final String URL_USUARIOS = "/api/usuarios";
+	private static final String URL_AUTENTICAR = "/api/usuarios/autenticar";
+	private static final Pattern URL_EVENTOS = Pattern.compile("/api/usuarios/\\d+/eventos");
+	private static final String PARAMETRO_TICKET = "ticket";
+
+	private final JwtService jwtService;
+
+	public JwtTokenFilter(JwtService jwtService) {
+		this.jwtService = jwtService;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String caminho = caminho(request);
+		if(HttpMethod.OPTIONS.matches(request.getMethod()) || caminho.startsWith(ChaveBackofficeFilter.URL_ACTUATOR)
+				|| caminho.startsWith(ChaveBackofficeFilter.URL_BACKOFFICE)) {
+			return true;
+		}
+		return HttpMethod.POST.matches(request.getMethod()) 
+				&& (caminho.equals(URL_AUTENTICAR) || caminho.equals(URL_USUARIOS));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+		Optional<UsuarioAutenticado> usuario = autorizacao != null && autorizacao.startsWith(PREFIXO_BEARER)
+				? jwtService.validarToken(autorizacao.substring(PREFIXO_BEARER.length()).trim())
+				: validarTicketEventos(request);
+		
+		if(!usuario.isPresent()) {
+			response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+			response.setContentType("text/plain;charset=UTF-8");
+			response.getWriter().write(UsuarioExceptionMessages.TOKEN_INVALIDO);
+			return;
+		}
+		
+		request.setAttribute(ATRIBUTO_USUARIO, usuario.get());
+		filterChain.doFilter(request, response);
+	}
+
+	private Optional<UsuarioAutenticado> validarTicketEventos(HttpServletRequest request) {
+		String ticket = request.getParameter(PARAMETRO_TICKET);
+		if(ticket == null || !HttpMethod.GET.matches(request.getMethod()) || !URL_EVENTOS.matcher(caminho(request)).matches()) {
+			return Optional.empty();
+		}
+		return jwtService.validarTicketEventos(ticket);
+	}
+
+	private static String caminho(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+}
@@ -0,0 +1,53 @@
+package com.thairam.minhasfinancas.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thairam.minhasfinancas.exceptions.ErroAutenticacao;
+import com.thairam.minhasfinancas.messages.UsuarioExceptionMessages;
+
+/**
+ * Limita as tentativas de autenticação por email em uma janela fixa, iniciada na primeira tentativa.
+ * Cada tentativa é reservada (incrementa e confere) antes de consultar o banco e o BCrypt, então
+ * requisições concorrentes não passam do limite; a autenticação bem-sucedida zera a contagem e as
+ * falhas mantêm a reserva.
+ */
+@Component
+public class LimitadorTentativasAutenticacao {
+
+	private static final int TAMANHO_MAXIMO = 100_000;
+
+	private final int maximoTentativas;
+	private final Cache<String, AtomicInteger> tentativasPorEmail;
+
+	public LimitadorTentativasAutenticacao(
+			@Value("${minhasfinancas.autenticacao.maximo-tentativas:5}") int maximoTentativas,
+			@Value("${minhasfinancas.autenticacao.janela-minutos:15}") long janela) {
+		this.maximoTentativas = maximoTentativas;
+		this.tentativasPorEmail = Caffeine.newBuilder()
+				.maximumSize(TAMANHO_MAXIMO)
+				.expireAfterWrite(janela, TimeUnit.MINUTES)
+				.build();
+	}
+
+	public void reservarTentativa(String email) {
+		AtomicInteger tentativas = tentativasPorEmail.get(chave(email), chave -> new AtomicInteger());
+		if(tentativas.incrementAndGet() > maximoTentativas) {
+			tentativas.decrementAndGet();
+			throw new ErroAutenticacao(UsuarioExceptionMessages.TENTATIVAS_EXCEDIDAS);
+		}
+	}
+
+	public void registrarSucesso(String email) {
+		tentativasPorEmail.invalidate(chave(email));
+	}
+
+	private static String chave(String email) {
+		return email == null ? "" : email.trim().toLowerCase();
+	}
+}
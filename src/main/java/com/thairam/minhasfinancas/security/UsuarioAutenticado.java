@@ -0,0 +1,12 @@
+package com.thairam.minhasfinancas.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UsuarioAutenticado {
+
+	private Long id;
+	private String nome;
+}
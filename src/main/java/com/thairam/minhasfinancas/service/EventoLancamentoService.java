@@ -0,0 +1,28 @@
+package com.thairam.minhasfinancas.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.thairam.minhasfinancas.model.entity.EventoLancamento;
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+
+public interface EventoLancamentoService {
+
+	/** anterior é null em inclusões e atual é null em exclusões */
+	void registrarAlteracao(Lancamento anterior, Lancamento atual);
+	
+	/** listas pareadas por posição, como em {@link SaldoService#registrarAlteracoes} */
+	void registrarAlteracoes(List<Lancamento> anteriores, List<Lancamento> atuais);
+	
+	/** retorna a quantidade de eventos publicados */
+	int publicarLote(int tamanhoLote);
+	
+	List<EventoLancamento> buscarAlteracoes(Long idUsuario, Long posicao, int tamanho);
+	
+	/** eventos publicados de todos os usuários, em ordem de posição */
+	List<EventoLancamento> buscarPublicadosApos(Long posicao, int tamanho);
+	
+	Long obterUltimaPosicaoPublicada();
+	
+	int removerPublicadosAntesDe(LocalDateTime limite);
+}
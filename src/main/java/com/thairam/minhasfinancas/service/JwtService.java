@@ -0,0 +1,21 @@
+package com.thairam.minhasfinancas.service;
+
+import java.util.Optional;
+
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.security.UsuarioAutenticado;
+
+public interface JwtService {
+
+	String gerarToken(Usuario usuario);
+	
+	Optional<UsuarioAutenticado> validarToken(String token);
+	
+	/**
+	 * Ticket de curta duração aceito apenas na abertura do stream de eventos: o EventSource do
+	 * navegador não envia cabeçalhos, então o ticket vai na URL e pode acabar em logs de acesso.
+	 */
+	String gerarTicketEventos(UsuarioAutenticado usuario);
+	
+	Optional<UsuarioAutenticado> validarTicketEventos(String ticket);
+}
@@ -0,0 +1,20 @@
+package com.thairam.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.thairam.minhasfinancas.model.entity.LancamentoRecorrente;
+
+public interface LancamentoRecorrenteService {
+
+	LancamentoRecorrente salvar(LancamentoRecorrente recorrente);
+	
+	List<LancamentoRecorrente> buscarPorUsuario(Long idUsuario);
+	
+	Optional<LancamentoRecorrente> encerrar(Long id, Long idUsuario);
+	
+	/** gera as parcelas de um lote de recorrências reservadas; retorna quantas recorrências foram processadas */
+	int gerarParcelasPendentes(int tamanhoLote);
+	
+	void validar(LancamentoRecorrente recorrente);
+}
@@ -1,27 +1,62 @@
 package com.thairam.minhasfinancas.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Slice;
 
 import com.thairam.minhasfinancas.model.entity.Lancamento;
 import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+import com.thairam.minhasfinancas.model.projection.ResultadoAtualizacaoLote;
+import com.thairam.minhasfinancas.model.projection.ResumoMensal;
+import com.thairam.minhasfinancas.model.projection.SaldoConsolidado;
+import com.thairam.minhasfinancas.model.projection.SaldoMensal;
 
 public interface LancamentoService {
 	
 	Lancamento salvar(Lancamento lancamento);
 	
+	/** não valida os lançamentos: o chamador deve validá-los antes, para poder rejeitar cada um individualmente */
+	List<Lancamento> importar(List<Lancamento> lancamentos);
+	
 	Lancamento atualizar(Lancamento lancamento);
 	
+	Optional<Lancamento> atualizarSeVersao(Lancamento lancamento, Long versaoEsperada);
+	
+	Optional<Lancamento> atualizarParcialmente(Lancamento alteracoes, Long versaoEsperada);
+	
 	void deletar(Lancamento lancamento);
 	
-	List<Lancamento> buscar(Lancamento lancamentoFiltro);
+	List<LancamentoResumo> buscar(LancamentoFiltro filtro);
+	
+	Slice<LancamentoResumo> pesquisar(LancamentoFiltro filtro, int tamanhoPagina);
+	
+	void exportar(Long idUsuario, Consumer<LancamentoResumo> consumidor);
 	
 	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 	
+	/** versoes (opcional) associa ids à versão esperada; lançamentos com versão divergente são devolvidos como conflito */
+	ResultadoAtualizacaoLote atualizarStatusEmLote(LancamentoFiltro filtro, Map<Long, Long> versoes, StatusLancamento status);
+	
 	void validar(Lancamento lancamento);
 	
 	Optional<Lancamento> obterLancamentoPorId(Long id);
 	
+	Optional<LancamentoResumo> obterResumoPorId(Long id);
+	
 	BigDecimal obterSaldoPorUsuario(Long id);
+	
+	SaldoMensal obterSaldoPorUsuario(Long id, Integer ano, Integer mes);
+	
+	Optional<SaldoConsolidado> obterSaldoConsolidado(Long idUsuario);
+	
+	void obterSaldosConsolidados(Collection<Long> idsUsuarios, Consumer<SaldoConsolidado> consumidor);
+	
+	List<ResumoMensal> obterResumoMensal(Long idUsuario, Integer anoInicial, Integer anoFinal, Collection<StatusLancamento> status);
 }
@@ -0,0 +1,14 @@
+package com.thairam.minhasfinancas.service;
+
+import java.util.List;
+
+import com.thairam.minhasfinancas.model.entity.EventoLancamento;
+
+/**
+ * Destino dos eventos da outbox. É chamado dentro da transação que atribui as posições:
+ * uma exceção desfaz a publicação do lote, que é tentada de novo na próxima execução.
+ */
+public interface PublicadorEventosLancamento {
+
+	void publicar(List<EventoLancamento> eventos);
+}
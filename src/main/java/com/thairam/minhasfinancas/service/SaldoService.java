@@ -0,0 +1,30 @@
+package com.thairam.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.projection.SaldoMensal;
+
+public interface SaldoService {
+
+	/** anterior é null em inclusões e atual é null em exclusões */
+	void registrarAlteracao(Lancamento anterior, Lancamento atual);
+	
+	/** listas pareadas por posição; cada usuário tem o saldo ajustado uma única vez */
+	void registrarAlteracoes(List<Lancamento> anteriores, List<Lancamento> atuais);
+	
+	BigDecimal obterSaldo(Long idUsuario);
+	
+	BigDecimal calcularSaldo(Long idUsuario);
+	
+	/** retorna o id do último usuário conferido, ou null quando não há mais saldos */
+	Long conciliarLote(Long ultimoUsuario, int tamanhoLote);
+	
+	/** fecha os meses até ultimoMes; retorna o id do último usuário processado, ou null quando não há mais saldos */
+	Long fecharMesesLote(Long ultimoUsuario, int tamanhoLote, YearMonth ultimoMes);
+	
+	/** saldo efetivado acumulado até o fim do mês informado */
+	SaldoMensal obterSaldoEm(Long idUsuario, Integer ano, Integer mes);
+}
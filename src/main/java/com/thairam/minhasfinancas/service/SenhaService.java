@@ -0,0 +1,10 @@
+package com.thairam.minhasfinancas.service;
+
+public interface SenhaService {
+
+	String codificar(String senha);
+	
+	boolean verificar(String senha, String senhaArmazenada);
+	
+	boolean precisaAtualizar(String senhaArmazenada);
+}
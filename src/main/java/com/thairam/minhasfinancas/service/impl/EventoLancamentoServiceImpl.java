@@ -0,0 +1,174 @@
+package com.thairam.minhasfinancas.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thairam.minhasfinancas.exceptions.CursorExpiradoException;
+import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
+import com.thairam.minhasfinancas.model.entity.EventoLancamento;
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.PublicacaoEventoLancamento;
+import com.thairam.minhasfinancas.model.enums.OperacaoLancamento;
+import com.thairam.minhasfinancas.model.repository.EventoLancamentoRepository;
+import com.thairam.minhasfinancas.model.repository.PublicacaoEventoLancamentoRepository;
+import com.thairam.minhasfinancas.service.EventoLancamentoService;
+import com.thairam.minhasfinancas.service.PublicadorEventosLancamento;
+
+@Service
+public class EventoLancamentoServiceImpl implements EventoLancamentoService {
+
+	private static final int TAMANHO_MAXIMO_PAGINA = 500;
+
+	private EventoLancamentoRepository eventoLancamentoRepository;
+	private PublicacaoEventoLancamentoRepository publicacaoRepository;
+	private PublicadorEventosLancamento publicador;
+
+	public EventoLancamentoServiceImpl(EventoLancamentoRepository eventoLancamentoRepository,
+			PublicacaoEventoLancamentoRepository publicacaoRepository, PublicadorEventosLancamento publicador) {
+		this.eventoLancamentoRepository = eventoLancamentoRepository;
+		this.publicacaoRepository = publicacaoRepository;
+		this.publicador = publicador;
+	}
+
+	@Override
+	@Transactional
+	public void registrarAlteracao(Lancamento anterior, Lancamento atual) {
+		registrarAlteracoes(Collections.singletonList(anterior), Collections.singletonList(atual));
+	}
+
+	@Override
+	@Transactional
+	public void registrarAlteracoes(List<Lancamento> anteriores, List<Lancamento> atuais) {
+		LocalDateTime dataEvento = LocalDateTime.now();
+		int total = Math.max(tamanho(anteriores), tamanho(atuais));
+		List<EventoLancamento> eventos = new ArrayList<>(total);
+		for(int i = 0; i < total; i++) {
+			Lancamento anterior = elemento(anteriores, i);
+			Lancamento atual = elemento(atuais, i);
+			if(atual != null) {
+				eventos.add(criarEvento(anterior == null ? OperacaoLancamento.INCLUSAO : OperacaoLancamento.ALTERACAO,
+						atual, dataEvento));
+			} else if(anterior != null) {
+				eventos.add(EventoLancamento.builder()
+						.operacao(OperacaoLancamento.EXCLUSAO)
+						.idLancamento(anterior.getId())
+						.idUsuario(anterior.getUsuario().getId())
+						.versao(anterior.getVersao())
+						.dataEvento(dataEvento)
+						.build());
+			}
+		}
+		eventoLancamentoRepository.saveAll(eventos);
+	}
+
+	/**
+	 * Atribui posições aos eventos ainda não publicados, em ordem de id, e os entrega ao publicador.
+	 * Eventos do mesmo lançamento gravados por nós diferentes podem sair de ordem entre si;
+	 * a versão do lançamento no evento desfaz a ambiguidade.
+	 */
+	@Override
+	@Transactional
+	public int publicarLote(int tamanhoLote) {
+		PublicacaoEventoLancamento publicacao = publicacaoRepository
+				.obterParaAtualizacao(PublicacaoEventoLancamento.ID)
+				.orElseGet( () -> publicacaoRepository.save(new PublicacaoEventoLancamento(PublicacaoEventoLancamento.ID, 0L, 0L)) );
+		
+		List<EventoLancamento> eventos = eventoLancamentoRepository.obterNaoPublicados(PageRequest.of(0, tamanhoLote));
+		if(eventos.isEmpty()) {
+			return 0;
+		}
+		
+		long posicao = publicacao.getUltimaPosicao();
+		LocalDateTime dataPublicacao = LocalDateTime.now();
+		for(EventoLancamento evento : eventos) {
+			evento.setPosicao(++posicao);
+			evento.setDataPublicacao(dataPublicacao);
+		}
+		publicacao.setUltimaPosicao(posicao);
+		publicador.publicar(eventos);
+		return eventos.size();
+	}
+
+	/**
+	 * A posição removida é lida depois dos eventos: uma limpeza concluída entre as duas consultas
+	 * é detectada, em vez de devolver uma página com eventos faltando.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<EventoLancamento> buscarAlteracoes(Long idUsuario, Long posicao, int tamanho) {
+		if(tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.TAMANHO_PAGINA_INVALIDO);
+		}
+		if(posicao == null || posicao < 0) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.CURSOR_INVALIDO);
+		}
+		List<EventoLancamento> eventos = eventoLancamentoRepository.obterPublicadosApos(idUsuario, posicao, 
+				PageRequest.of(0, tamanho));
+		publicacaoRepository.findById(PublicacaoEventoLancamento.ID)
+				.filter(publicacao -> posicao < publicacao.getUltimaPosicaoRemovida())
+				.ifPresent(publicacao -> {
+					throw new CursorExpiradoException(LancamentoExceptionMessages.CURSOR_EXPIRADO, 
+							publicacao.getUltimaPosicao());
+				});
+		return eventos;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<EventoLancamento> buscarPublicadosApos(Long posicao, int tamanho) {
+		return eventoLancamentoRepository.obterTodosPublicadosApos(posicao, PageRequest.of(0, tamanho));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Long obterUltimaPosicaoPublicada() {
+		return publicacaoRepository.findById(PublicacaoEventoLancamento.ID)
+				.map(PublicacaoEventoLancamento::getUltimaPosicao)
+				.orElse(0L);
+	}
+
+	/** registra a maior posição removida antes de apagar, sob o mesmo bloqueio usado pela publicação */
+	@Override
+	@Transactional
+	public int removerPublicadosAntesDe(LocalDateTime limite) {
+		Long removida = eventoLancamentoRepository.obterUltimaPosicaoPublicadaAntesDe(limite);
+		if(removida == null) {
+			return 0;
+		}
+		publicacaoRepository.obterParaAtualizacao(PublicacaoEventoLancamento.ID)
+				.filter(publicacao -> removida > publicacao.getUltimaPosicaoRemovida())
+				.ifPresent(publicacao -> publicacao.setUltimaPosicaoRemovida(removida));
+		return eventoLancamentoRepository.removerPublicadosAntesDe(limite);
+	}
+
+	private static EventoLancamento criarEvento(OperacaoLancamento operacao, Lancamento lancamento, LocalDateTime dataEvento) {
+		return EventoLancamento.builder()
+				.operacao(operacao)
+				.idLancamento(lancamento.getId())
+				.idUsuario(lancamento.getUsuario().getId())
+				.versao(lancamento.getVersao())
+				.descricao(lancamento.getDescricao())
+				.mes(lancamento.getMes())
+				.ano(lancamento.getAno())
+				.valor(lancamento.getValor())
+				.tipo(lancamento.getTipo())
+				.status(lancamento.getStatus())
+				.dataEvento(dataEvento)
+				.build();
+	}
+
+	private static int tamanho(List<Lancamento> lancamentos) {
+		return lancamentos == null ? 0 : lancamentos.size();
+	}
+
+	private static Lancamento elemento(List<Lancamento> lancamentos, int indice) {
+		return indice < tamanho(lancamentos) ? lancamentos.get(indice) : null;
+	}
+}
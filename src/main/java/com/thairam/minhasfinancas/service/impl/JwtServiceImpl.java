@@ -0,0 +1,111 @@
+package com.thairam.minhasfinancas.service.impl;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.security.UsuarioAutenticado;
+import com.thairam.minhasfinancas.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+@Service
+public class JwtServiceImpl implements JwtService {
+
+	private static final Logger log = LoggerFactory.getLogger(JwtServiceImpl.class);
+
+	private static final int TAMANHO_CHAVE = 64;
+	private static final String CLAIM_NOME = "nome";
+	private static final String AUDIENCIA_EVENTOS = "eventos";
+	private static final long VALIDADE_TICKET_EVENTOS_SEGUNDOS = 60;
+
+	private final byte[] chave;
+	private final long expiracaoMinutos;
+
+	public JwtServiceImpl(
+			@Value("${minhasfinancas.jwt.chave:}") String chaveBase64,
+			@Value("${minhasfinancas.jwt.expiracao-minutos:60}") long expiracaoMinutos,
+			@Value("${minhasfinancas.jwt.permitir-chave-local:false}") boolean permitirChaveLocal) {
+		this.expiracaoMinutos = expiracaoMinutos;
+		if(chaveBase64 == null || chaveBase64.trim().isEmpty()) {
+			if(!permitirChaveLocal) {
+				throw new IllegalStateException("minhasfinancas.jwt.chave não configurada (variável JWT_CHAVE)");
+			}
+			log.warn("minhasfinancas.jwt.chave não configurada: gerando uma chave local. "
+					+ "Os tokens deixam de valer ao reiniciar e não são aceitos por outras instâncias.");
+			this.chave = new byte[TAMANHO_CHAVE];
+			new SecureRandom().nextBytes(this.chave);
+		} else {
+			this.chave = Base64.getDecoder().decode(chaveBase64.trim());
+			if(this.chave.length < TAMANHO_CHAVE) {
+				throw new IllegalStateException("minhasfinancas.jwt.chave deve ter ao menos " + TAMANHO_CHAVE + " bytes");
+			}
+		}
+	}
+
+	@Override
+	public String gerarToken(Usuario usuario) {
+		long agora = System.currentTimeMillis();
+		return Jwts.builder()
+				.setSubject(String.valueOf(usuario.getId()))
+				.claim(CLAIM_NOME, usuario.getNome())
+				.setIssuedAt(new Date(agora))
+				.setExpiration(new Date(agora + TimeUnit.MINUTES.toMillis(expiracaoMinutos)))
+				.signWith(SignatureAlgorithm.HS512, chave)
+				.compact();
+	}
+
+	@Override
+	public Optional<UsuarioAutenticado> validarToken(String token) {
+		return validar(token, null);
+	}
+
+	@Override
+	public String gerarTicketEventos(UsuarioAutenticado usuario) {
+		long agora = System.currentTimeMillis();
+		return Jwts.builder()
+				.setSubject(String.valueOf(usuario.getId()))
+				.claim(CLAIM_NOME, usuario.getNome())
+				.setAudience(AUDIENCIA_EVENTOS)
+				.setIssuedAt(new Date(agora))
+				.setExpiration(new Date(agora + TimeUnit.SECONDS.toMillis(VALIDADE_TICKET_EVENTOS_SEGUNDOS)))
+				.signWith(SignatureAlgorithm.HS512, chave)
+				.compact();
+	}
+
+	@Override
+	public Optional<UsuarioAutenticado> validarTicketEventos(String ticket) {
+		return validar(ticket, AUDIENCIA_EVENTOS);
+	}
+
+	/** tokens de sessão não têm audiência; tickets não valem como token e vice-versa */
+	private Optional<UsuarioAutenticado> validar(String token, String audiencia) {
+		if(token == null || token.isEmpty()) {
+			return Optional.empty();
+		}
+		try {
+			Claims claims = Jwts.parser()
+					.setSigningKey(chave)
+					.parseClaimsJws(token)
+					.getBody();
+			if(!Objects.equals(claims.getAudience(), audiencia)) {
+				return Optional.empty();
+			}
+			return Optional.of(new UsuarioAutenticado(Long.valueOf(claims.getSubject()), claims.get(CLAIM_NOME, String.class)));
+		} catch (JwtException | IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package com.thairam.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.LancamentoRecorrente;
+import com.thairam.minhasfinancas.model.repository.LancamentoRecorrenteRepository;
+import com.thairam.minhasfinancas.service.LancamentoRecorrenteService;
+import com.thairam.minhasfinancas.service.LancamentoService;
+
+@Service
+public class LancamentoRecorrenteServiceImpl implements LancamentoRecorrenteService {
+
+	private LancamentoRecorrenteRepository recorrenteRepository;
+	private LancamentoService lancamentoService;
+	private int mesesAntecedencia;
+
+	public LancamentoRecorrenteServiceImpl(LancamentoRecorrenteRepository recorrenteRepository,
+			LancamentoService lancamentoService,
+			@Value("${minhasfinancas.recorrencia.meses-antecedencia:3}") int mesesAntecedencia) {
+		this.recorrenteRepository = recorrenteRepository;
+		this.lancamentoService = lancamentoService;
+		this.mesesAntecedencia = mesesAntecedencia;
+	}
+
+	@Override
+	@Transactional
+	public LancamentoRecorrente salvar(LancamentoRecorrente recorrente) {
+		validar(recorrente);
+		recorrente.setProximaParcela(1);
+		recorrente.setProximaCompetencia(recorrente.competenciaDaParcela(1));
+		recorrente.setDataCadastro(LocalDate.now());
+		LancamentoRecorrente recorrenteSalvo = recorrenteRepository.save(recorrente);
+		gerarParcelas(Collections.singletonList(recorrenteSalvo));
+		return recorrenteSalvo;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<LancamentoRecorrente> buscarPorUsuario(Long idUsuario) {
+		return recorrenteRepository.findByUsuarioIdOrderById(idUsuario);
+	}
+
+	@Override
+	@Transactional
+	public Optional<LancamentoRecorrente> encerrar(Long id, Long idUsuario) {
+		Optional<LancamentoRecorrente> recorrente = recorrenteRepository.findByIdAndUsuarioId(id, idUsuario);
+		recorrente.ifPresent(r -> r.setProximaCompetencia(null));
+		return recorrente;
+	}
+
+	@Override
+	@Transactional
+	public int gerarParcelasPendentes(int tamanhoLote) {
+		List<LancamentoRecorrente> recorrentes = recorrenteRepository
+				.reservarPendentes(competenciaLimite(), PageRequest.of(0, tamanhoLote));
+		gerarParcelas(recorrentes);
+		return recorrentes.size();
+	}
+
+	@Override
+	public void validar(LancamentoRecorrente recorrente) {
+		if(recorrente.getDescricao() == null || recorrente.getDescricao().trim().equals("")) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.DESCRICAO_INVALIDA);
+		}
+
+		if(recorrente.getUsuario() == null || recorrente.getUsuario().getId() == null) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.USUARIO_INVALIDO);
+		}
+
+		if(recorrente.getValor() == null || recorrente.getValor().compareTo(BigDecimal.ZERO) < 1) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.VALOR_INVALIDO);
+		}
+
+		if(recorrente.getTipo() == null) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.TIPO_INVALIDO);
+		}
+
+		if(recorrente.getFrequencia() == null) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.FREQUENCIA_INVALIDA);
+		}
+
+		if(recorrente.getMesInicial() == null || recorrente.getMesInicial() < 1 || recorrente.getMesInicial() > 12) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.MES_INVALIDO);
+		}
+
+		if(recorrente.getAnoInicial() == null || recorrente.getAnoInicial().toString().length() != 4) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.ANO_INVALIDO);
+		}
+
+		if(recorrente.getQuantidadeParcelas() != null && recorrente.getQuantidadeParcelas() < 1) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.QUANTIDADE_PARCELAS_INVALIDA);
+		}
+
+		boolean possuiFim = recorrente.getAnoFinal() != null || recorrente.getMesFinal() != null;
+		if(possuiFim && (recorrente.getAnoFinal() == null || recorrente.getMesFinal() == null
+				|| recorrente.getMesFinal() < 1 || recorrente.getMesFinal() > 12
+				|| LancamentoRecorrente.competencia(recorrente.getAnoFinal(), recorrente.getMesFinal())
+					< LancamentoRecorrente.competencia(recorrente.getAnoInicial(), recorrente.getMesInicial()))) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.PERIODO_RECORRENCIA_INVALIDO);
+		}
+	}
+
+	/**
+	 * As parcelas herdam os campos da recorrência, já validada. A chave única (id_recorrencia, parcela)
+	 * impede parcelas duplicadas.
+	 */
+	private void gerarParcelas(List<LancamentoRecorrente> recorrentes) {
+		int competenciaLimite = competenciaLimite();
+		List<Lancamento> parcelas = new ArrayList<>();
+		for(LancamentoRecorrente recorrente : recorrentes) {
+			while(recorrente.getProximaCompetencia() != null && recorrente.getProximaCompetencia() <= competenciaLimite) {
+				parcelas.add(criarParcela(recorrente));
+				recorrente.avancarParcela();
+			}
+		}
+
+		if(!parcelas.isEmpty()) {
+			lancamentoService.importar(parcelas);
+		}
+	}
+
+	private int competenciaLimite() {
+		YearMonth limite = YearMonth.now().plusMonths(mesesAntecedencia);
+		return LancamentoRecorrente.competencia(limite.getYear(), limite.getMonthValue());
+	}
+
+	private static Lancamento criarParcela(LancamentoRecorrente recorrente) {
+		int competencia = recorrente.getProximaCompetencia();
+		String descricao = recorrente.getQuantidadeParcelas() == null
+				? recorrente.getDescricao()
+				: recorrente.getDescricao() + " (" + recorrente.getProximaParcela() + "/" + recorrente.getQuantidadeParcelas() + ")";
+		return Lancamento.builder()
+				.descricao(descricao)
+				.mes(competencia % 12 + 1)
+				.ano(competencia / 12)
+				.valor(recorrente.getValor())
+				.tipo(recorrente.getTipo())
+				.usuario(recorrente.getUsuario())
+				.idRecorrencia(recorrente.getId())
+				.parcela(recorrente.getProximaParcela())
+				.build();
+	}
+}
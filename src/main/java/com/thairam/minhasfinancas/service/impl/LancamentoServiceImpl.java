@@ -2,32 +2,59 @@ package com.thairam.minhasfinancas.service.impl;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.BiFunction;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.exceptions.VersaoDesatualizadaException;
 import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
 import com.thairam.minhasfinancas.model.entity.Lancamento;
 import com.thairam.minhasfinancas.model.enums.StatusLancamento;
 import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+import com.thairam.minhasfinancas.model.projection.ResultadoAtualizacaoLote;
+import com.thairam.minhasfinancas.model.projection.ResumoMensal;
+import com.thairam.minhasfinancas.model.projection.SaldoConsolidado;
+import com.thairam.minhasfinancas.model.projection.SaldoMensal;
 import com.thairam.minhasfinancas.model.repository.LancamentoRepository;
+import com.thairam.minhasfinancas.service.EventoLancamentoService;
 import com.thairam.minhasfinancas.service.LancamentoService;
+import com.thairam.minhasfinancas.service.SaldoService;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService{
   
+	private static final int TAMANHO_MAXIMO_PAGINA = 500;
+	private static final int MAXIMO_IDS_LOTE = 10_000;
+	private static final int PERIODO_MAXIMO_RESUMO = 50;
+	private static final int TAMANHO_LOTE_SALDOS = 1000;
+	
 	private LancamentoRepository lancamentoRepository;
+	private SaldoService saldoService;
+	private EventoLancamentoService eventoLancamentoService;
 	
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	public LancamentoServiceImpl(LancamentoRepository repository, SaldoService saldoService,
+			EventoLancamentoService eventoLancamentoService) {
 		this.lancamentoRepository = repository;
+		this.saldoService = saldoService;
+		this.eventoLancamentoService = eventoLancamentoService;
 	}
 	
 	@Override
@@ -36,7 +63,26 @@ public class LancamentoServiceImpl implements LancamentoService{
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
 		lancamento.setDataCadastro(LocalDate.now());
-		return lancamentoRepository.save(lancamento);
+		Lancamento lancamentoSalvo = lancamentoRepository.save(lancamento);
+		saldoService.registrarAlteracao(null, lancamentoSalvo);
+		eventoLancamentoService.registrarAlteracao(null, lancamentoSalvo);
+		return lancamentoSalvo;
+	}
+
+	@Override
+	@Transactional
+	public List<Lancamento> importar(List<Lancamento> lancamentos) {
+		LocalDate dataCadastro = LocalDate.now();
+		for(Lancamento lancamento : lancamentos) {
+			if(lancamento.getStatus() == null) {
+				lancamento.setStatus(StatusLancamento.PENDENTE);
+			}
+			lancamento.setDataCadastro(dataCadastro);
+		}
+		List<Lancamento> lancamentosSalvos = lancamentoRepository.inserirEmLote(lancamentos);
+		saldoService.registrarAlteracoes(null, lancamentosSalvos);
+		eventoLancamentoService.registrarAlteracoes(null, lancamentosSalvos);
+		return lancamentosSalvos;
 	}
 
 	@Override
@@ -44,82 +90,342 @@ public class LancamentoServiceImpl implements LancamentoService{
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return lancamentoRepository.save(lancamento);
+		Lancamento anterior = obterEstadoPersistido(lancamento);
+		Lancamento lancamentoAtualizado = lancamentoRepository.save(lancamento);
+		// a versão é incrementada no flush e vai para o evento da alteração
+		lancamentoRepository.flush();
+		saldoService.registrarAlteracao(anterior, lancamentoAtualizado);
+		eventoLancamentoService.registrarAlteracao(anterior, lancamentoAtualizado);
+		return lancamentoAtualizado;
+	}
+
+	/**
+	 * Altera a entidade carregada, e não por UPDATE em HQL: o Hibernate atualiza só a entrada desse
+	 * lançamento no cache de segundo nível, em vez de esvaziar a região inteira a cada PUT.
+	 */
+	@Override
+	@Transactional
+	public Optional<Lancamento> atualizarSeVersao(Lancamento lancamento, Long versaoEsperada) {
+		Objects.requireNonNull(lancamento.getId());
+		validar(lancamento);
+		
+		Optional<Lancamento> persistido = lancamentoRepository.obterPorId(lancamento.getId())
+				.filter(atual -> atual.getUsuario().getId().equals(lancamento.getUsuario().getId()));
+		if(!persistido.isPresent()) {
+			return Optional.empty();
+		}
+		
+		Lancamento atual = persistido.get();
+		if(versaoEsperada != null && !versaoEsperada.equals(atual.getVersao())) {
+			throw new VersaoDesatualizadaException(LancamentoExceptionMessages.VERSAO_DESATUALIZADA);
+		}
+		
+		Lancamento anterior = obterEstadoPersistido(atual);
+		if(!lancamento.getAno().equals(atual.getAno())) {
+			atual = moverParaAno(atual, lancamento.getAno());
+		}
+		atual.setDescricao(lancamento.getDescricao());
+		atual.setMes(lancamento.getMes());
+		atual.setValor(lancamento.getValor());
+		atual.setTipo(lancamento.getTipo());
+		aplicarSeInformado(lancamento.getStatus(), atual::setStatus);
+		
+		registrarAlteracaoComVersao(anterior, atual);
+		return Optional.of(atual);
+	}
+
+	/**
+	 * Aplica apenas os campos informados (não nulos) em {@code alteracoes}, validando somente esses campos.
+	 * Com {@code @DynamicUpdate} o UPDATE gerado contém só as colunas alteradas e a versão.
+	 */
+	@Override
+	@Transactional
+	public Optional<Lancamento> atualizarParcialmente(Lancamento alteracoes, Long versaoEsperada) {
+		Objects.requireNonNull(alteracoes.getId());
+		validarUsuario(alteracoes);
+		
+		Optional<Lancamento> persistido = lancamentoRepository.obterPorId(alteracoes.getId())
+				.filter(lancamento -> lancamento.getUsuario().getId().equals(alteracoes.getUsuario().getId()));
+		if(!persistido.isPresent()) {
+			return Optional.empty();
+		}
+		
+		Lancamento lancamento = persistido.get();
+		if(versaoEsperada != null && !versaoEsperada.equals(lancamento.getVersao())) {
+			throw new VersaoDesatualizadaException(LancamentoExceptionMessages.VERSAO_DESATUALIZADA);
+		}
+		
+		if(alteracoes.getDescricao() != null) {
+			validarDescricao(alteracoes);
+		}
+		if(alteracoes.getMes() != null) {
+			validarMes(alteracoes);
+		}
+		if(alteracoes.getAno() != null) {
+			validarAno(alteracoes);
+		}
+		if(alteracoes.getValor() != null) {
+			validarValor(alteracoes);
+		}
+		
+		Lancamento anterior = obterEstadoPersistido(lancamento);
+		if(alteracoes.getAno() != null && !alteracoes.getAno().equals(lancamento.getAno())) {
+			lancamento = moverParaAno(lancamento, alteracoes.getAno());
+		}
+		aplicarSeInformado(alteracoes.getDescricao(), lancamento::setDescricao);
+		aplicarSeInformado(alteracoes.getMes(), lancamento::setMes);
+		aplicarSeInformado(alteracoes.getValor(), lancamento::setValor);
+		aplicarSeInformado(alteracoes.getTipo(), lancamento::setTipo);
+		aplicarSeInformado(alteracoes.getStatus(), lancamento::setStatus);
+		
+		registrarAlteracaoComVersao(anterior, lancamento);
+		return Optional.of(lancamento);
 	}
 
 	@Override
 	@Transactional
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		Lancamento anterior = obterEstadoPersistido(lancamento);
 		lancamentoRepository.delete(lancamento);
+		saldoService.registrarAlteracao(anterior, null);
+		eventoLancamentoService.registrarAlteracao(anterior, null);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<LancamentoResumo> buscar(LancamentoFiltro filtro) {
+		return lancamentoRepository.buscar(filtro);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<LancamentoResumo> pesquisar(LancamentoFiltro filtro, int tamanhoPagina) {
+		if(tamanhoPagina < 1 || tamanhoPagina > TAMANHO_MAXIMO_PAGINA) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.TAMANHO_PAGINA_INVALIDO);
+		}
+		
+		List<LancamentoResumo> lancamentos = lancamentoRepository.pesquisar(filtro, tamanhoPagina + 1);
+		boolean possuiProximaPagina = lancamentos.size() > tamanhoPagina;
+		if(possuiProximaPagina) {
+			lancamentos = lancamentos.subList(0, tamanhoPagina);
+		}
+		return new SliceImpl<>(lancamentos, PageRequest.of(0, tamanhoPagina), possuiProximaPagina);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
-		Example example = Example.of(lancamentoFiltro, 
-				ExampleMatcher
-					.matching().withIgnoreCase()
-					.withStringMatcher(StringMatcher.CONTAINING));
-		return lancamentoRepository.findAll(example);
+	public void exportar(Long idUsuario, Consumer<LancamentoResumo> consumidor) {
+		try(Stream<LancamentoResumo> lancamentos = lancamentoRepository.exportarPorUsuario(idUsuario)) {
+			lancamentos.forEach(consumidor);
+		}
 	}
 
 	@Override
+	@Transactional
 	public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
 		lancamento.setStatus(status);
 		atualizar(lancamento);
 	}
 
+	@Override
+	@Transactional
+	public ResultadoAtualizacaoLote atualizarStatusEmLote(LancamentoFiltro filtro, Map<Long, Long> versoes, StatusLancamento status) {
+		Objects.requireNonNull(status);
+		boolean possuiIds = filtro.getIds() != null && !filtro.getIds().isEmpty();
+		if(filtro.getUsuario() == null || (!possuiIds && filtro.getAno() == null)) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.FILTRO_LOTE_INVALIDO);
+		}
+		
+		if(possuiIds && filtro.getIds().size() > MAXIMO_IDS_LOTE) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.IDS_LOTE_EXCEDE_LIMITE);
+		}
+		
+		// as linhas ficam bloqueadas até o fim da transação, então a versão lida aqui é a que o UPDATE incrementa
+		List<LancamentoResumo> lancamentos = new ArrayList<>();
+		List<Long> conflitos = new ArrayList<>();
+		for(LancamentoResumo lancamento : lancamentoRepository.bloquearParaAlteracaoDeStatus(filtro, status)) {
+			Long versaoEsperada = versoes == null ? null : versoes.get(lancamento.getId());
+			if(versaoEsperada == null || versaoEsperada.equals(lancamento.getVersao())) {
+				lancamentos.add(lancamento);
+			} else {
+				conflitos.add(lancamento.getId());
+			}
+		}
+		if(lancamentos.isEmpty()) {
+			return new ResultadoAtualizacaoLote(0, conflitos);
+		}
+		
+		lancamentoRepository.atualizarStatus(lancamentos, status);
+		
+		List<Lancamento> anteriores = new ArrayList<>(lancamentos.size());
+		List<Lancamento> atuais = new ArrayList<>(lancamentos.size());
+		for(LancamentoResumo lancamento : lancamentos) {
+			anteriores.add(lancamento.paraLancamento());
+			Lancamento atual = lancamento.paraLancamento();
+			atual.setStatus(status);
+			atual.setVersao(lancamento.getVersao() + 1);
+			atuais.add(atual);
+		}
+		saldoService.registrarAlteracoes(anteriores, atuais);
+		eventoLancamentoService.registrarAlteracoes(anteriores, atuais);
+		return new ResultadoAtualizacaoLote(lancamentos.size(), conflitos);
+	}
+
 	@Override
 	public void validar(Lancamento lancamento) {
+		validarDescricao(lancamento);
+		validarMes(lancamento);
+		validarAno(lancamento);
+		validarUsuario(lancamento);
+		validarValor(lancamento);
+		validarTipo(lancamento);
+	}
+	
+	private void validarDescricao(Lancamento lancamento) {
 		if(lancamento.getDescricao() == null || lancamento.getDescricao().trim().equals("")) {
 			throw new RegraNegocioException(LancamentoExceptionMessages.DESCRICAO_INVALIDA);
 		}
-		
+	}
+	
+	private void validarMes(Lancamento lancamento) {
 		if(lancamento.getMes() == null || lancamento.getMes() < 1 || lancamento.getMes() > 12) {
 			throw new RegraNegocioException(LancamentoExceptionMessages.MES_INVALIDO);
 		}
-
+	}
+	
+	private void validarAno(Lancamento lancamento) {
 		if(lancamento.getAno() == null || lancamento.getAno().toString().length() != 4) {
 			throw new RegraNegocioException(LancamentoExceptionMessages.ANO_INVALIDO);			
-		}		
-		
+		}
+	}
+	
+	private void validarUsuario(Lancamento lancamento) {
 		if(lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null) {
 			throw new RegraNegocioException(LancamentoExceptionMessages.USUARIO_INVALIDO);						
 		}
-		
+	}
+	
+	private void validarValor(Lancamento lancamento) {
 		if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1) {
 			throw new RegraNegocioException(LancamentoExceptionMessages.VALOR_INVALIDO);									
 		}
-		
+	}
+	
+	private void validarTipo(Lancamento lancamento) {
 		if(lancamento.getTipo() == null) {
 			throw new RegraNegocioException(LancamentoExceptionMessages.TIPO_INVALIDO);												
 		}
 	}
 
+	/** carrega o lançamento que será alterado em seguida, então lê do primário e não de uma réplica */
 	@Override
+	@Transactional
 	public Optional<Lancamento> obterLancamentoPorId(Long id) {
-		return lancamentoRepository.findById(id);
+		return lancamentoRepository.obterPorId(id);
+	}
+
+	/** lido do primário: a versão devolvida vira o ETag usado no If-Match das alterações */
+	@Override
+	@Transactional
+	public Optional<LancamentoResumo> obterResumoPorId(Long id) {
+		return lancamentoRepository.obterResumoPorId(id);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = 
-				lancamentoRepository
-					.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-		BigDecimal despesas = 
-				lancamentoRepository
-					.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+		return saldoService.obterSaldo(id);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public SaldoMensal obterSaldoPorUsuario(Long id, Integer ano, Integer mes) {
+		return saldoService.obterSaldoEm(id, ano, mes);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<SaldoConsolidado> obterSaldoConsolidado(Long idUsuario) {
+		return lancamentoRepository.obterSaldoConsolidado(idUsuario, StatusLancamento.EFETIVADO,
+				StatusLancamento.PENDENTE, TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+	}
+	
+	/**
+	 * Sem transação própria: cada lote é uma consulta curta, e a conexão é devolvida ao pool
+	 * enquanto o consumidor escreve a resposta.
+	 */
+	@Override
+	public void obterSaldosConsolidados(Collection<Long> idsUsuarios, Consumer<SaldoConsolidado> consumidor) {
+		if(idsUsuarios != null && !idsUsuarios.isEmpty()) {
+			List<Long> ids = new ArrayList<>(idsUsuarios.stream()
+					.filter(Objects::nonNull)
+					.collect(Collectors.toCollection(TreeSet::new)));
+			for(int i = 0; i < ids.size(); i += TAMANHO_LOTE_SALDOS) {
+				lancamentoRepository.obterSaldosConsolidados(ids.subList(i, Math.min(i + TAMANHO_LOTE_SALDOS, ids.size())),
+						StatusLancamento.EFETIVADO, StatusLancamento.PENDENTE, TipoLancamento.RECEITA, TipoLancamento.DESPESA)
+					.forEach(consumidor);
+			}
+			return;
+		}
 		
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;
+		Long ultimoUsuario = 0L;
+		List<SaldoConsolidado> saldos;
+		do {
+			saldos = lancamentoRepository.obterSaldosConsolidadosAposUsuario(ultimoUsuario, 
+					StatusLancamento.EFETIVADO, StatusLancamento.PENDENTE, TipoLancamento.RECEITA, TipoLancamento.DESPESA, 
+					PageRequest.of(0, TAMANHO_LOTE_SALDOS));
+			saldos.forEach(consumidor);
+			if(!saldos.isEmpty()) {
+				ultimoUsuario = saldos.get(saldos.size() - 1).getIdUsuario();
+			}
+		} while(saldos.size() == TAMANHO_LOTE_SALDOS);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<ResumoMensal> obterResumoMensal(Long idUsuario, Integer anoInicial, Integer anoFinal,
+			Collection<StatusLancamento> status) {
+		if(anoInicial == null || anoFinal == null || anoInicial > anoFinal 
+				|| anoFinal - anoInicial >= PERIODO_MAXIMO_RESUMO) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.PERIODO_RESUMO_INVALIDO);
 		}
-
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;
+		Collection<StatusLancamento> statusConsiderados = status == null || status.isEmpty() 
+				? EnumSet.of(StatusLancamento.EFETIVADO) 
+				: status;
+		return lancamentoRepository.obterResumoMensal(idUsuario, anoInicial, anoFinal, statusConsiderados,
+				TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+	}
+	
+	private static <T> void aplicarSeInformado(T valor, Consumer<T> setter) {
+		if(valor != null) {
+			setter.accept(valor);
+		}
+	}
+	
+	/** o ano é parte da chave e não pode ser alterado na entidade carregada; a versão é conferida no UPDATE */
+	private Lancamento moverParaAno(Lancamento lancamento, Integer novoAno) {
+		return lancamentoRepository.moverParaAno(lancamento, novoAno)
+				.orElseThrow(() -> new VersaoDesatualizadaException(LancamentoExceptionMessages.VERSAO_DESATUALIZADA));
+	}
+	
+	/** o flush confere e incrementa a versão antes de registrar a alteração no saldo e nos eventos */
+	private void registrarAlteracaoComVersao(Lancamento anterior, Lancamento lancamento) {
+		try {
+			lancamentoRepository.flush();
+		} catch (ObjectOptimisticLockingFailureException e) {
+			throw new VersaoDesatualizadaException(LancamentoExceptionMessages.VERSAO_DESATUALIZADA);
+		}
+		saldoService.registrarAlteracao(anterior, lancamento);
+		eventoLancamentoService.registrarAlteracao(anterior, lancamento);
+	}
+	
+	private Lancamento obterEstadoPersistido(Lancamento lancamento) {
+		if(lancamento.getEstadoPersistido() != null) {
+			return lancamento.getEstadoPersistido();
 		}
-				
-		return receitas.subtract(despesas);
+		return lancamentoRepository.obterPorId(lancamento.getId())
+				.map(Lancamento::getEstadoPersistido)
+				.orElse(null);
 	}
 }
@@ -0,0 +1,312 @@
+package com.thairam.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
+import com.thairam.minhasfinancas.model.entity.FechamentoMensal;
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.LancamentoRecorrente;
+import com.thairam.minhasfinancas.model.entity.SaldoUsuario;
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.projection.ResumoMensal;
+import com.thairam.minhasfinancas.model.projection.SaldoMensal;
+import com.thairam.minhasfinancas.model.repository.FechamentoMensalRepository;
+import com.thairam.minhasfinancas.model.repository.LancamentoRepository;
+import com.thairam.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.thairam.minhasfinancas.service.SaldoService;
+
+@Service
+public class SaldoServiceImpl implements SaldoService {
+
+	private static final Logger log = LoggerFactory.getLogger(SaldoServiceImpl.class);
+
+	private SaldoUsuarioRepository saldoUsuarioRepository;
+	private LancamentoRepository lancamentoRepository;
+	private FechamentoMensalRepository fechamentoMensalRepository;
+
+	public SaldoServiceImpl(SaldoUsuarioRepository saldoUsuarioRepository, LancamentoRepository lancamentoRepository,
+			FechamentoMensalRepository fechamentoMensalRepository) {
+		this.saldoUsuarioRepository = saldoUsuarioRepository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.fechamentoMensalRepository = fechamentoMensalRepository;
+	}
+
+	@Override
+	@Transactional
+	public void registrarAlteracao(Lancamento anterior, Lancamento atual) {
+		registrarAlteracoes(Collections.singletonList(anterior), Collections.singletonList(atual));
+	}
+
+	@Override
+	@Transactional
+	public void registrarAlteracoes(List<Lancamento> anteriores, List<Lancamento> atuais) {
+		Map<Long, Movimento> movimentos = new LinkedHashMap<>();
+		int total = Math.max(tamanho(anteriores), tamanho(atuais));
+		for(int i = 0; i < total; i++) {
+			acumular(movimentos, elemento(anteriores, i), -1);
+			acumular(movimentos, elemento(atuais, i), 1);
+		}
+
+		int competenciaAtual = competencia(YearMonth.now());
+		movimentos.forEach((idUsuario, movimento) -> {
+			if(!movimento.isVazio()) {
+				adicionarMovimento(idUsuario, movimento);
+			}
+			ajustarFechamentos(idUsuario, movimento.competencias, competenciaAtual);
+		});
+	}
+
+	/**
+	 * Sem saldo materializado, bloqueia o usuário antes de criá-lo: a primeira escrita concorrente
+	 * aguarda o bloqueio e, após o commit da outra, encontra o saldo e só soma o movimento.
+	 */
+	private void adicionarMovimento(Long idUsuario, Movimento movimento) {
+		if(saldoUsuarioRepository.adicionarMovimento(idUsuario, movimento.receitas, movimento.despesas) > 0) {
+			return;
+		}
+		saldoUsuarioRepository.bloquearUsuario(idUsuario);
+		if(saldoUsuarioRepository.adicionarMovimento(idUsuario, movimento.receitas, movimento.despesas) == 0) {
+			saldoUsuarioRepository.save(recalcular(idUsuario));
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldo(Long idUsuario) {
+		return saldoUsuarioRepository.findById(idUsuario)
+				.map(SaldoUsuario::getSaldo)
+				.orElseGet( () -> calcularSaldo(idUsuario));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal calcularSaldo(Long idUsuario) {
+		return recalcular(idUsuario).getSaldo();
+	}
+
+	@Override
+	@Transactional
+	public Long conciliarLote(Long ultimoUsuario, int tamanhoLote) {
+		List<SaldoUsuario> saldos = saldoUsuarioRepository
+				.findByIdUsuarioGreaterThanOrderByIdUsuario(ultimoUsuario, PageRequest.of(0, tamanhoLote));
+		if(saldos.isEmpty()) {
+			return null;
+		}
+
+		for(SaldoUsuario saldo : saldos) {
+			saldoUsuarioRepository.obterParaAtualizacao(saldo.getIdUsuario()).ifPresent(saldoAtual -> {
+				SaldoUsuario saldoCalculado = recalcular(saldoAtual.getIdUsuario());
+				if(saldoAtual.getReceitas().compareTo(saldoCalculado.getReceitas()) != 0
+						|| saldoAtual.getDespesas().compareTo(saldoCalculado.getDespesas()) != 0) {
+					log.warn("Saldo divergente para o usuário {}: armazenado {}/{}, calculado {}/{}",
+							saldoAtual.getIdUsuario(),
+							saldoAtual.getReceitas(), saldoAtual.getDespesas(),
+							saldoCalculado.getReceitas(), saldoCalculado.getDespesas());
+					saldoAtual.setReceitas(saldoCalculado.getReceitas());
+					saldoAtual.setDespesas(saldoCalculado.getDespesas());
+				}
+			});
+		}
+		return saldos.get(saldos.size() - 1).getIdUsuario();
+	}
+
+	@Override
+	@Transactional
+	public Long fecharMesesLote(Long ultimoUsuario, int tamanhoLote, YearMonth ultimoMes) {
+		List<SaldoUsuario> saldos = saldoUsuarioRepository
+				.findByIdUsuarioGreaterThanOrderByIdUsuario(ultimoUsuario, PageRequest.of(0, tamanhoLote));
+		if(saldos.isEmpty()) {
+			return null;
+		}
+
+		int competenciaLimite = competencia(ultimoMes);
+		for(SaldoUsuario saldo : saldos) {
+			// o bloqueio do saldo serializa o fechamento com registrarAlteracoes, que atualiza o saldo
+			// do usuário antes de ajustar os fechamentos
+			saldoUsuarioRepository.obterParaAtualizacao(saldo.getIdUsuario())
+					.ifPresent(saldoAtual -> fecharMeses(saldoAtual.getIdUsuario(), competenciaLimite));
+		}
+		return saldos.get(saldos.size() - 1).getIdUsuario();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public SaldoMensal obterSaldoEm(Long idUsuario, Integer ano, Integer mes) {
+		if(ano == null || ano.toString().length() != 4) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.ANO_INVALIDO);
+		}
+		if(mes == null || mes < 1 || mes > 12) {
+			throw new RegraNegocioException(LancamentoExceptionMessages.MES_INVALIDO);
+		}
+
+		int competencia = LancamentoRecorrente.competencia(ano, mes);
+		Optional<FechamentoMensal> fechamento = fechamentoMensalRepository
+				.findFirstByIdUsuarioAndCompetenciaLessThanEqualOrderByCompetenciaDesc(idUsuario, competencia);
+		BigDecimal receitas = fechamento.map(FechamentoMensal::getReceitas).orElse(BigDecimal.ZERO);
+		BigDecimal despesas = fechamento.map(FechamentoMensal::getDespesas).orElse(BigDecimal.ZERO);
+
+		int competenciaAberta = fechamento.map(f -> f.getCompetencia() + 1).orElse(0);
+		if(competenciaAberta <= competencia) {
+			for(ResumoMensal resumo : obterResumos(idUsuario, competenciaAberta, competencia).values()) {
+				receitas = receitas.add(resumo.getReceitas());
+				despesas = despesas.add(resumo.getDespesas());
+			}
+		}
+		return new SaldoMensal(idUsuario, ano, mes, receitas, despesas);
+	}
+
+	private void fecharMeses(Long idUsuario, int competenciaLimite) {
+		Optional<FechamentoMensal> ultimo = fechamentoMensalRepository.findFirstByIdUsuarioOrderByCompetenciaDesc(idUsuario);
+		Integer competenciaInicial = ultimo.isPresent()
+				? Integer.valueOf(ultimo.get().getCompetencia() + 1)
+				: primeiraCompetencia(idUsuario);
+		if(competenciaInicial == null || competenciaInicial > competenciaLimite) {
+			return;
+		}
+
+		Map<Integer, ResumoMensal> resumos = obterResumos(idUsuario, competenciaInicial, competenciaLimite);
+		BigDecimal receitas = ultimo.map(FechamentoMensal::getReceitas).orElse(BigDecimal.ZERO);
+		BigDecimal despesas = ultimo.map(FechamentoMensal::getDespesas).orElse(BigDecimal.ZERO);
+		LocalDate hoje = LocalDate.now();
+		List<FechamentoMensal> fechamentos = new ArrayList<>();
+		for(int competencia = competenciaInicial; competencia <= competenciaLimite; competencia++) {
+			ResumoMensal resumo = resumos.get(competencia);
+			if(resumo != null) {
+				receitas = receitas.add(resumo.getReceitas());
+				despesas = despesas.add(resumo.getDespesas());
+			}
+			fechamentos.add(FechamentoMensal.builder()
+					.idUsuario(idUsuario)
+					.competencia(competencia)
+					.ano(competencia / 12)
+					.mes(competencia % 12 + 1)
+					.receitas(receitas)
+					.despesas(despesas)
+					.dataFechamento(hoje)
+					.build());
+		}
+		fechamentoMensalRepository.saveAll(fechamentos);
+	}
+
+	private Integer primeiraCompetencia(Long idUsuario) {
+		Integer primeiroAno = lancamentoRepository.obterPrimeiroAno(idUsuario, StatusLancamento.EFETIVADO);
+		return primeiroAno == null ? null : LancamentoRecorrente.competencia(primeiroAno, 1);
+	}
+
+	/** resumos mensais efetivados entre as competências, indexados pela competência */
+	private Map<Integer, ResumoMensal> obterResumos(Long idUsuario, int competenciaInicial, int competenciaFinal) {
+		Map<Integer, ResumoMensal> resumos = new HashMap<>();
+		for(ResumoMensal resumo : lancamentoRepository.obterResumoMensal(idUsuario,
+				competenciaInicial / 12, competenciaFinal / 12, EnumSet.of(StatusLancamento.EFETIVADO),
+				TipoLancamento.RECEITA, TipoLancamento.DESPESA)) {
+			int competencia = LancamentoRecorrente.competencia(resumo.getAno(), resumo.getMes());
+			if(competencia >= competenciaInicial && competencia <= competenciaFinal) {
+				resumos.put(competencia, resumo);
+			}
+		}
+		return resumos;
+	}
+
+	/**
+	 * Soma a variação de cada competência ao fechamento dela e aos seguintes. Cada faixa entre duas
+	 * competências alteradas recebe a variação acumulada, então cada fechamento é atualizado uma vez.
+	 * Competências a partir do mês atual ainda não têm fechamento.
+	 */
+	private void ajustarFechamentos(Long idUsuario, NavigableMap<Integer, Movimento> competencias, int competenciaAtual) {
+		BigDecimal receitas = BigDecimal.ZERO;
+		BigDecimal despesas = BigDecimal.ZERO;
+		for(Map.Entry<Integer, Movimento> entrada : competencias.headMap(competenciaAtual, false).entrySet()) {
+			receitas = receitas.add(entrada.getValue().receitas);
+			despesas = despesas.add(entrada.getValue().despesas);
+			if(receitas.signum() == 0 && despesas.signum() == 0) {
+				continue;
+			}
+			Integer proxima = competencias.higherKey(entrada.getKey());
+			fechamentoMensalRepository.adicionarMovimento(idUsuario, entrada.getKey(),
+					proxima == null ? Integer.MAX_VALUE : proxima - 1, receitas, despesas);
+		}
+	}
+
+	private SaldoUsuario recalcular(Long idUsuario) {
+		BigDecimal receitas =
+				lancamentoRepository
+					.obterSaldoPorTipoLancamentoEUsuarioEStatus(idUsuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		BigDecimal despesas =
+				lancamentoRepository
+					.obterSaldoPorTipoLancamentoEUsuarioEStatus(idUsuario, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+
+		return SaldoUsuario.builder()
+				.idUsuario(idUsuario)
+				.receitas(receitas == null ? BigDecimal.ZERO : receitas)
+				.despesas(despesas == null ? BigDecimal.ZERO : despesas)
+				.build();
+	}
+
+	private void acumular(Map<Long, Movimento> movimentos, Lancamento lancamento, int sinal) {
+		if(lancamento == null || lancamento.getStatus() != StatusLancamento.EFETIVADO
+				|| lancamento.getValor() == null || lancamento.getUsuario() == null) {
+			return;
+		}
+
+		Movimento movimento = movimentos.computeIfAbsent(lancamento.getUsuario().getId(), id -> new Movimento());
+		BigDecimal valor = sinal < 0 ? lancamento.getValor().negate() : lancamento.getValor();
+		movimento.adicionar(lancamento.getTipo(), valor);
+		if(lancamento.getAno() != null && lancamento.getMes() != null) {
+			movimento.competencias
+					.computeIfAbsent(LancamentoRecorrente.competencia(lancamento.getAno(), lancamento.getMes()),
+							competencia -> new Movimento())
+					.adicionar(lancamento.getTipo(), valor);
+		}
+	}
+
+	private static int competencia(YearMonth mes) {
+		return LancamentoRecorrente.competencia(mes.getYear(), mes.getMonthValue());
+	}
+
+	private static int tamanho(List<Lancamento> lancamentos) {
+		return lancamentos == null ? 0 : lancamentos.size();
+	}
+
+	private static Lancamento elemento(List<Lancamento> lancamentos, int indice) {
+		return indice < tamanho(lancamentos) ? lancamentos.get(indice) : null;
+	}
+
+	private static class Movimento {
+
+		private BigDecimal receitas = BigDecimal.ZERO;
+		private BigDecimal despesas = BigDecimal.ZERO;
+		private final NavigableMap<Integer, Movimento> competencias = new TreeMap<>();
+
+		private void adicionar(TipoLancamento tipo, BigDecimal valor) {
+			if(tipo == TipoLancamento.RECEITA) {
+				receitas = receitas.add(valor);
+			} else {
+				despesas = despesas.add(valor);
+			}
+		}
+
+		private boolean isVazio() {
+			return receitas.signum() == 0 && despesas.signum() == 0;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.thairam.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thairam.minhasfinancas.service.SenhaService;
+
+/**
+ * Codifica e verifica senhas com BCrypt em um pool próprio e limitado, para que um pico de logins
+ * não dispute CPU com o restante da aplicação. Verificações bem-sucedidas ficam em cache por um
+ * curto período, indexadas por um digest da senha informada com o hash armazenado.
+ */
+@Service
+public class SenhaServiceImpl implements SenhaService {
+
+	private static final Pattern HASH_BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+	private static final int TAMANHO_MAXIMO_CACHE = 10_000;
+
+	private final BCryptPasswordEncoder encoder;
+	private final ThreadPoolTaskExecutor executor;
+	private final Cache<String, Boolean> verificacoesRecentes;
+
+	public SenhaServiceImpl(
+			@Value("${minhasfinancas.senha.custo:10}") int custo,
+			@Value("${minhasfinancas.senha.threads:0}") int threads,
+			@Value("${minhasfinancas.senha.capacidade-fila:1000}") int capacidadeFila,
+			@Value("${minhasfinancas.senha.cache.expiracao-segundos:300}") long expiracaoCache) {
+		this.encoder = new BCryptPasswordEncoder(custo);
+		
+		int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.executor = new ThreadPoolTaskExecutor();
+		this.executor.setCorePoolSize(tamanhoPool);
+		this.executor.setMaxPoolSize(tamanhoPool);
+		this.executor.setQueueCapacity(capacidadeFila);
+		this.executor.setThreadNamePrefix("senha-");
+		this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		this.executor.initialize();
+		
+		this.verificacoesRecentes = Caffeine.newBuilder()
+				.maximumSize(TAMANHO_MAXIMO_CACHE)
+				.expireAfterWrite(expiracaoCache, TimeUnit.SECONDS)
+				.build();
+	}
+
+	@Override
+	public String codificar(String senha) {
+		return executar( () -> encoder.encode(senha) );
+	}
+
+	@Override
+	public boolean verificar(String senha, String senhaArmazenada) {
+		if(senha == null || senhaArmazenada == null) {
+			return false;
+		}
+		if(!isHash(senhaArmazenada)) {
+			return MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8), 
+					senhaArmazenada.getBytes(StandardCharsets.UTF_8));
+		}
+		
+		String chave = digest(senhaArmazenada, senha);
+		if(verificacoesRecentes.getIfPresent(chave) != null) {
+			return true;
+		}
+		boolean valida = executar( () -> encoder.matches(senha, senhaArmazenada) );
+		if(valida) {
+			verificacoesRecentes.put(chave, Boolean.TRUE);
+		}
+		return valida;
+	}
+
+	@Override
+	public boolean precisaAtualizar(String senhaArmazenada) {
+		return !isHash(senhaArmazenada) || encoder.upgradeEncoding(senhaArmazenada);
+	}
+	
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+
+	private static boolean isHash(String senhaArmazenada) {
+		return senhaArmazenada != null && HASH_BCRYPT.matcher(senhaArmazenada).matches();
+	}
+
+	private <T> T executar(Callable<T> tarefa) {
+		try {
+			return executor.submit(tarefa).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private static String digest(String senhaArmazenada, String senha) {
+		try {
+			MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+			sha256.update(senhaArmazenada.getBytes(StandardCharsets.UTF_8));
+			sha256.update((byte) 0);
+			sha256.update(senha.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(sha256.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
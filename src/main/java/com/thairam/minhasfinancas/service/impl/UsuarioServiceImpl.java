@@ -2,28 +2,40 @@ package com.thairam.minhasfinancas.service.impl;
 
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.thairam.minhasfinancas.config.CacheConfiguration;
 import com.thairam.minhasfinancas.exceptions.ErroAutenticacao;
 import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
 import com.thairam.minhasfinancas.messages.UsuarioExceptionMessages;
 import com.thairam.minhasfinancas.model.entity.Usuario;
 import com.thairam.minhasfinancas.model.repository.UsuarioRepository;
+import com.thairam.minhasfinancas.security.LimitadorTentativasAutenticacao;
+import com.thairam.minhasfinancas.service.SenhaService;
 import com.thairam.minhasfinancas.service.UsuarioService;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService{
 
 	private UsuarioRepository usuarioRepository;
+	private SenhaService senhaService;
+	private LimitadorTentativasAutenticacao limitadorTentativas;
 	
-	public UsuarioServiceImpl(UsuarioRepository usuarioRepository) {
+	public UsuarioServiceImpl(UsuarioRepository usuarioRepository, SenhaService senhaService,
+			LimitadorTentativasAutenticacao limitadorTentativas) {
 		super();
 		this.usuarioRepository = usuarioRepository;
+		this.senhaService = senhaService;
+		this.limitadorTentativas = limitadorTentativas;
 	}
 
 	@Override
 	public Usuario autenticar(String email, String senha) {
+		limitadorTentativas.reservarTentativa(email);
 		Optional<Usuario> usuario = usuarioRepository.findByEmail(email);
 		
 		if(!usuario.isPresent()) {
@@ -31,17 +43,28 @@ public class UsuarioServiceImpl implements UsuarioService{
 					.USUARIO_NAO_ENCONTRADO_PARA_EMAIL);
 		}
 		
-		if(!usuario.get().getSenha().equals(senha)) {
+		String senhaArmazenada = usuario.get().getSenha();
+		if(!senhaService.verificar(senha, senhaArmazenada)) {
 			throw new ErroAutenticacao(UsuarioExceptionMessages.SENHA_INVALIDA);			
 		}
+		limitadorTentativas.registrarSucesso(email);
 		
+		if(senhaService.precisaAtualizar(senhaArmazenada)) {
+			usuarioRepository.atualizarSenha(usuario.get().getId(), usuario.get().getEmail(), 
+					senhaService.codificar(senha));
+		}
 		return usuario.get();
 	}
 
 	@Override
 	@Transactional
+	@Caching(evict = {
+			@CacheEvict(cacheNames = CacheConfiguration.USUARIOS, key = "#result.id"),
+			@CacheEvict(cacheNames = CacheConfiguration.USUARIOS_POR_EMAIL, key = "#usuario.email")
+	})
 	public Usuario salvarUsuario(Usuario usuario) {
 		validarEmail(usuario.getEmail());
+		usuario.setSenha(senhaService.codificar(usuario.getSenha()));
 		return usuarioRepository.save(usuario);
 	}
 
@@ -55,6 +78,7 @@ public class UsuarioServiceImpl implements UsuarioService{
 	}
 
 	@Override
+	@Cacheable(cacheNames = CacheConfiguration.USUARIOS, key = "#id", unless = "#result == null")
 	public Optional<Usuario> obterUsuarioPorId(Long id) {
 		return usuarioRepository.findById(id);
 	}
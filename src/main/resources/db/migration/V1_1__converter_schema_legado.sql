@@ -0,0 +1,119 @@
+-- Converte bases criadas antes do Flyway, em que financas.usuario e financas.lancamento já existiam.
+-- Essas bases recebem baseline na versão 1 (spring.flyway.baseline-on-migrate), então o V1 não é
+-- executado nelas; esta migração as leva ao mesmo schema. Em bases criadas pelo V1 não altera nada.
+--
+-- Procedimento: fazer backup, parar todas as instâncias da aplicação (a cópia roda em uma única
+-- transação e bloqueia financas.lancamento), remover emails duplicados em financas.usuario e subir
+-- a nova versão; o Flyway registra o baseline e aplica V1_1 em diante.
+
+CREATE OR REPLACE FUNCTION financas.criar_particao_lancamento(p_ano integer) RETURNS boolean AS $$
+DECLARE
+	v_particao text := 'lancamento_' || p_ano;
+BEGIN
+	IF to_regclass('financas.' || v_particao) IS NOT NULL THEN
+		RETURN false;
+	END IF;
+
+	LOCK TABLE financas.lancamento IN SHARE ROW EXCLUSIVE MODE;
+	IF to_regclass('financas.' || v_particao) IS NOT NULL THEN
+		RETURN false;
+	END IF;
+
+	EXECUTE format('CREATE TABLE financas.%I (LIKE financas.lancamento INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+			v_particao);
+	EXECUTE format('WITH movidos AS (DELETE FROM financas.lancamento_padrao WHERE ano = %s RETURNING *) '
+			|| 'INSERT INTO financas.%I SELECT * FROM movidos', p_ano, v_particao);
+	EXECUTE format('ALTER TABLE financas.lancamento ATTACH PARTITION financas.%I FOR VALUES FROM (%s) TO (%s)',
+			v_particao, p_ano, p_ano + 1);
+	RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- falha se houver emails duplicados, que precisam ser resolvidos antes da migração
+CREATE UNIQUE INDEX IF NOT EXISTS idx_usuario_email ON financas.usuario (email);
+
+CREATE SEQUENCE IF NOT EXISTS financas.lancamento_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS financas.saldo_usuario (
+	id_usuario bigint PRIMARY KEY REFERENCES financas.usuario (id),
+	receitas numeric(19,2) NOT NULL DEFAULT 0,
+	despesas numeric(19,2) NOT NULL DEFAULT 0
+);
+
+DO $conversao$
+DECLARE
+	v_indice record;
+	v_ano integer;
+	v_ano_atual integer := extract(year FROM current_date);
+	v_max_id bigint;
+	v_legado bigint;
+	v_convertido bigint;
+BEGIN
+	IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'financas.lancamento'::regclass) THEN
+		RETURN;
+	END IF;
+
+	-- a tabela antiga e seus índices são renomeados para liberar os nomes usados pela nova
+	ALTER TABLE financas.lancamento RENAME TO lancamento_legado;
+	FOR v_indice IN SELECT indexname FROM pg_indexes
+			WHERE schemaname = 'financas' AND tablename = 'lancamento_legado' LOOP
+		EXECUTE format('ALTER INDEX financas.%I RENAME TO %I', v_indice.indexname, v_indice.indexname || '_legado');
+	END LOOP;
+
+	CREATE TABLE financas.lancamento (
+		id bigint NOT NULL,
+		descricao varchar(255),
+		mes integer,
+		ano integer NOT NULL,
+		id_usuario bigint REFERENCES financas.usuario (id),
+		valor numeric(19,2),
+		data_cadastro date,
+		tipo varchar(255),
+		status varchar(255),
+		versao bigint NOT NULL DEFAULT 0,
+		PRIMARY KEY (id, ano)
+	) PARTITION BY RANGE (ano);
+
+	CREATE INDEX idx_lancamento_usuario_ano_mes ON financas.lancamento (id_usuario, ano, mes, id);
+	CREATE INDEX idx_lancamento_usuario_descricao ON financas.lancamento (id_usuario, lower(descricao) text_pattern_ops);
+	CREATE INDEX idx_lancamento_usuario_status_tipo_valor ON financas.lancamento (id_usuario, status, tipo, valor);
+
+	CREATE TABLE financas.lancamento_padrao PARTITION OF financas.lancamento DEFAULT;
+
+	FOR v_ano IN SELECT ano FROM generate_series(v_ano_atual - 10, v_ano_atual + 2) AS ano
+			UNION SELECT DISTINCT ano FROM financas.lancamento_legado ORDER BY 1 LOOP
+		PERFORM financas.criar_particao_lancamento(v_ano);
+	END LOOP;
+
+	-- copiadas ano a ano, cada INSERT escreve em uma única partição
+	FOR v_ano IN SELECT DISTINCT ano FROM financas.lancamento_legado ORDER BY 1 LOOP
+		INSERT INTO financas.lancamento (id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status)
+		SELECT id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status
+		FROM financas.lancamento_legado
+		WHERE ano = v_ano;
+	END LOOP;
+
+	SELECT count(*), max(id) INTO v_legado, v_max_id FROM financas.lancamento_legado;
+	SELECT count(*) INTO v_convertido FROM financas.lancamento;
+	IF v_legado <> v_convertido THEN
+		RAISE EXCEPTION 'Conversão de financas.lancamento copiou % de % linhas', v_convertido, v_legado;
+	END IF;
+
+	-- o otimizador pooled do Hibernate usa os ids de (nextval - 49) até nextval, então o próximo
+	-- valor precisa ficar um incremento inteiro acima do maior id existente
+	IF v_max_id IS NOT NULL THEN
+		PERFORM setval('financas.lancamento_seq', v_max_id + 50, false);
+	END IF;
+
+	DROP TABLE financas.lancamento_legado;
+END;
+$conversao$;
+
+INSERT INTO financas.saldo_usuario (id_usuario, receitas, despesas)
+SELECT u.id,
+		coalesce(sum(l.valor) FILTER (WHERE l.tipo = 'RECEITA' AND l.status = 'EFETIVADO'), 0),
+		coalesce(sum(l.valor) FILTER (WHERE l.tipo = 'DESPESA' AND l.status = 'EFETIVADO'), 0)
+FROM financas.usuario u
+LEFT JOIN financas.lancamento l ON l.id_usuario = u.id
+GROUP BY u.id
+ON CONFLICT (id_usuario) DO NOTHING;
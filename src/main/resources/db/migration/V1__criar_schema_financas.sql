@@ -0,0 +1,74 @@
+CREATE TABLE financas.usuario (
+	id bigserial PRIMARY KEY,
+	nome varchar(255),
+	email varchar(255),
+	senha varchar(255)
+);
+
+CREATE UNIQUE INDEX idx_usuario_email ON financas.usuario (email);
+
+CREATE SEQUENCE financas.lancamento_seq INCREMENT BY 50;
+
+-- Particionado por ano: as consultas por usuário e ano/período (pesquisa, resumo mensal,
+-- exportação) leem apenas as partições do período. A chave primária precisa conter o ano.
+CREATE TABLE financas.lancamento (
+	id bigint NOT NULL,
+	descricao varchar(255),
+	mes integer,
+	ano integer NOT NULL,
+	id_usuario bigint REFERENCES financas.usuario (id),
+	valor numeric(19,2),
+	data_cadastro date,
+	tipo varchar(255),
+	status varchar(255),
+	versao bigint NOT NULL DEFAULT 0,
+	PRIMARY KEY (id, ano)
+) PARTITION BY RANGE (ano);
+
+CREATE INDEX idx_lancamento_usuario_ano_mes ON financas.lancamento (id_usuario, ano, mes, id);
+CREATE INDEX idx_lancamento_usuario_descricao ON financas.lancamento (id_usuario, lower(descricao) text_pattern_ops);
+CREATE INDEX idx_lancamento_usuario_status_tipo_valor ON financas.lancamento (id_usuario, status, tipo, valor);
+
+-- Recebe os anos que ainda não têm partição própria.
+CREATE TABLE financas.lancamento_padrao PARTITION OF financas.lancamento DEFAULT;
+
+-- Cria a partição do ano, movendo para ela as linhas do ano que estiverem na partição padrão.
+-- Retorna false quando a partição já existe.
+CREATE FUNCTION financas.criar_particao_lancamento(p_ano integer) RETURNS boolean AS $$
+DECLARE
+	v_particao text := 'lancamento_' || p_ano;
+BEGIN
+	IF to_regclass('financas.' || v_particao) IS NOT NULL THEN
+		RETURN false;
+	END IF;
+
+	LOCK TABLE financas.lancamento IN SHARE ROW EXCLUSIVE MODE;
+	IF to_regclass('financas.' || v_particao) IS NOT NULL THEN
+		RETURN false;
+	END IF;
+
+	EXECUTE format('CREATE TABLE financas.%I (LIKE financas.lancamento INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+			v_particao);
+	EXECUTE format('WITH movidos AS (DELETE FROM financas.lancamento_padrao WHERE ano = %s RETURNING *) '
+			|| 'INSERT INTO financas.%I SELECT * FROM movidos', p_ano, v_particao);
+	EXECUTE format('ALTER TABLE financas.lancamento ATTACH PARTITION financas.%I FOR VALUES FROM (%s) TO (%s)',
+			v_particao, p_ano, p_ano + 1);
+	RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+	v_ano_atual integer := extract(year FROM current_date);
+BEGIN
+	FOR v_ano IN (v_ano_atual - 10)..(v_ano_atual + 2) LOOP
+		PERFORM financas.criar_particao_lancamento(v_ano);
+	END LOOP;
+END;
+$$;
+
+CREATE TABLE financas.saldo_usuario (
+	id_usuario bigint PRIMARY KEY REFERENCES financas.usuario (id),
+	receitas numeric(19,2) NOT NULL DEFAULT 0,
+	despesas numeric(19,2) NOT NULL DEFAULT 0
+);
@@ -0,0 +1,29 @@
+CREATE SEQUENCE financas.lancamento_recorrente_seq INCREMENT BY 50;
+
+CREATE TABLE financas.lancamento_recorrente (
+	id bigint PRIMARY KEY,
+	descricao varchar(255),
+	id_usuario bigint REFERENCES financas.usuario (id),
+	valor numeric(19,2),
+	tipo varchar(255),
+	frequencia varchar(255),
+	mes_inicial integer,
+	ano_inicial integer,
+	quantidade_parcelas integer,
+	mes_final integer,
+	ano_final integer,
+	proxima_parcela integer,
+	proxima_competencia integer,
+	data_cadastro date
+);
+
+CREATE INDEX idx_lancamento_recorrente_proxima_competencia ON financas.lancamento_recorrente (proxima_competencia)
+	WHERE proxima_competencia IS NOT NULL;
+CREATE INDEX idx_lancamento_recorrente_usuario ON financas.lancamento_recorrente (id_usuario);
+
+ALTER TABLE financas.lancamento ADD COLUMN id_recorrencia bigint REFERENCES financas.lancamento_recorrente (id);
+ALTER TABLE financas.lancamento ADD COLUMN parcela integer;
+
+-- Índices únicos em tabela particionada precisam da chave de partição; o ano de cada parcela
+-- é determinado pela recorrência, então a unicidade equivale a (id_recorrencia, parcela).
+CREATE UNIQUE INDEX uk_lancamento_recorrencia_parcela ON financas.lancamento (id_recorrencia, parcela, ano);
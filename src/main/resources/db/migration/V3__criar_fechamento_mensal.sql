@@ -0,0 +1,12 @@
+-- Receitas e despesas efetivadas acumuladas até o fim de cada mês encerrado, por usuário.
+-- competencia = ano * 12 + mes - 1; o saldo em um mês é lido do último fechamento até ele.
+CREATE TABLE financas.fechamento_mensal (
+	id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+	competencia integer NOT NULL,
+	ano integer NOT NULL,
+	mes integer NOT NULL,
+	receitas numeric(19,2) NOT NULL,
+	despesas numeric(19,2) NOT NULL,
+	data_fechamento date NOT NULL,
+	PRIMARY KEY (id_usuario, competencia)
+);
@@ -0,0 +1,31 @@
+CREATE SEQUENCE financas.evento_lancamento_seq INCREMENT BY 50;
+
+-- Outbox das alterações de lançamentos. posicao é nula até a publicação.
+CREATE TABLE financas.evento_lancamento (
+	id bigint PRIMARY KEY,
+	posicao bigint,
+	operacao varchar(255) NOT NULL,
+	id_lancamento bigint NOT NULL,
+	id_usuario bigint NOT NULL,
+	versao bigint,
+	descricao varchar(255),
+	mes integer,
+	ano integer,
+	valor numeric(19,2),
+	tipo varchar(255),
+	status varchar(255),
+	data_evento timestamp NOT NULL,
+	data_publicacao timestamp
+);
+
+CREATE INDEX idx_evento_lancamento_nao_publicado ON financas.evento_lancamento (id) WHERE posicao IS NULL;
+CREATE INDEX idx_evento_lancamento_usuario_posicao ON financas.evento_lancamento (id_usuario, posicao)
+	WHERE posicao IS NOT NULL;
+CREATE INDEX idx_evento_lancamento_data_publicacao ON financas.evento_lancamento (data_publicacao);
+
+CREATE TABLE financas.publicacao_evento_lancamento (
+	id integer PRIMARY KEY,
+	ultima_posicao bigint NOT NULL
+);
+
+INSERT INTO financas.publicacao_evento_lancamento (id, ultima_posicao) VALUES (1, 0);
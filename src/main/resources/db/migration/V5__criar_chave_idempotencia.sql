@@ -0,0 +1,13 @@
+-- Idempotency-Key por usuário e a resposta armazenada da requisição que a utilizou.
+CREATE TABLE financas.chave_idempotencia (
+	id_usuario bigint NOT NULL,
+	chave varchar(255) NOT NULL,
+	operacao varchar(255) NOT NULL,
+	hash_requisicao varchar(255) NOT NULL,
+	status integer,
+	corpo text,
+	data_expiracao timestamp NOT NULL,
+	PRIMARY KEY (id_usuario, chave)
+);
+
+CREATE INDEX idx_chave_idempotencia_data_expiracao ON financas.chave_idempotencia (data_expiracao);
@@ -0,0 +1,2 @@
+-- Maior posição já removida pela limpeza da outbox; cursores abaixo dela precisam de ressincronização.
+ALTER TABLE financas.publicacao_evento_lancamento ADD COLUMN ultima_posicao_removida bigint NOT NULL DEFAULT 0;
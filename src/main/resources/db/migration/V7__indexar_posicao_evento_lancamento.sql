@@ -0,0 +1,2 @@
+-- Leitura da outbox por posição, sem filtro de usuário, feita por cada instância para o SSE.
+CREATE INDEX idx_evento_lancamento_posicao ON financas.evento_lancamento (posicao) WHERE posicao IS NOT NULL;
@@ -0,0 +1,79 @@
+package com.thairam.minhasfinancas.api.idempotencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thairam.minhasfinancas.messages.IdempotenciaExceptionMessages;
+import com.thairam.minhasfinancas.model.repository.ChaveIdempotenciaRepository;
+
+public class RegistroIdempotenciaTest {
+
+	ChaveIdempotenciaRepository repository;
+	RegistroIdempotencia registroIdempotencia;
+	AtomicInteger execucoes;
+
+	@BeforeEach
+	public void setUp() {
+		repository = Mockito.mock(ChaveIdempotenciaRepository.class);
+		Mockito.when(repository.obterValida(Mockito.anyLong(), Mockito.anyString(), Mockito.any()))
+				.thenReturn(Optional.empty());
+		PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+		Mockito.when(transactionManager.getTransaction(Mockito.any())).thenReturn(new SimpleTransactionStatus());
+		registroIdempotencia = new RegistroIdempotencia(repository, new ObjectMapper(), transactionManager, 24, 1024);
+		execucoes = new AtomicInteger();
+	}
+
+	@Test
+	public void deveRepetirARespostaSemExecutarNovamente() {
+		ResponseEntity primeira = registroIdempotencia.executar(1L, "chave", "salvar", "requisicao", () -> criar());
+		ResponseEntity repetida = registroIdempotencia.executar(1L, "chave", "salvar", "requisicao", () -> criar());
+
+		assertEquals(execucoes.get(), 1);
+		assertEquals(primeira.getStatusCode(), HttpStatus.CREATED);
+		assertEquals(repetida.getStatusCode(), HttpStatus.CREATED);
+		assertEquals(repetida.getBody(), "{\"id\":1}");
+		assertEquals(repetida.getHeaders().getFirst(RegistroIdempotencia.CABECALHO_REPETIDA), "true");
+		Mockito.verify(repository).reservar(Mockito.eq(1L), Mockito.eq("chave"), Mockito.eq("salvar"),
+				Mockito.anyString(), Mockito.any());
+		Mockito.verify(repository).registrarResposta(1L, "chave", 201, "{\"id\":1}");
+	}
+
+	@Test
+	public void deveRecusarAChaveReutilizadaComOutraRequisicao() {
+		registroIdempotencia.executar(1L, "chave", "salvar", "requisicao", () -> criar());
+		ResponseEntity resposta = registroIdempotencia.executar(1L, "chave", "salvar", "outra", () -> criar());
+
+		assertEquals(execucoes.get(), 1);
+		assertEquals(resposta.getStatusCode(), HttpStatus.UNPROCESSABLE_ENTITY);
+		assertEquals(resposta.getBody(), IdempotenciaExceptionMessages.CHAVE_REUTILIZADA);
+	}
+
+	@Test
+	public void naoDeveArmazenarRespostaDeErro() {
+		registroIdempotencia.executar(1L, "chave", "salvar", "requisicao", () -> ResponseEntity.badRequest().build());
+		registroIdempotencia.executar(1L, "chave", "salvar", "requisicao", () -> criar());
+
+		assertEquals(execucoes.get(), 1);
+		Mockito.verify(repository, Mockito.times(2)).reservar(Mockito.eq(1L), Mockito.eq("chave"),
+				Mockito.eq("salvar"), Mockito.anyString(), Mockito.any());
+		Mockito.verify(repository).registrarResposta(Mockito.anyLong(), Mockito.anyString(), Mockito.anyInt(),
+				Mockito.anyString());
+	}
+
+	private ResponseEntity criar() {
+		execucoes.incrementAndGet();
+		return new ResponseEntity<>(Collections.singletonMap("id", 1), HttpStatus.CREATED);
+	}
+}
@@ -0,0 +1,135 @@
+package com.thairam.minhasfinancas.api.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thairam.minhasfinancas.api.idempotencia.RegistroIdempotencia;
+import com.thairam.minhasfinancas.api.sse.RegistroEmissoresSse;
+import com.thairam.minhasfinancas.config.AsyncConfiguration;
+import com.thairam.minhasfinancas.messages.ExecucaoExceptionMessages;
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+import com.thairam.minhasfinancas.security.JwtTokenFilter;
+import com.thairam.minhasfinancas.security.UsuarioAutenticado;
+import com.thairam.minhasfinancas.service.EventoLancamentoService;
+import com.thairam.minhasfinancas.service.JwtService;
+import com.thairam.minhasfinancas.service.LancamentoService;
+import com.thairam.minhasfinancas.service.UsuarioService;
+
+public class ConsultasAssincronasTest {
+
+	LancamentoService lancamentoService;
+	ThreadPoolTaskExecutor consultasExecutor;
+	CountDownLatch liberarExecutor;
+	MockMvc mvc;
+
+	@BeforeEach
+	public void setUp() {
+		lancamentoService = Mockito.mock(LancamentoService.class);
+		consultasExecutor = new AsyncConfiguration().consultasExecutor(1, 1);
+		consultasExecutor.initialize();
+		liberarExecutor = new CountDownLatch(1);
+
+		mvc = MockMvcBuilders
+				.standaloneSetup(
+						new LancamentoController(lancamentoService, Mockito.mock(EventoLancamentoService.class),
+								new ObjectMapper(), consultasExecutor, Mockito.mock(RegistroIdempotencia.class)),
+						new UsuarioController(Mockito.mock(UsuarioService.class), lancamentoService,
+								Mockito.mock(JwtService.class), consultasExecutor,
+								Mockito.mock(RegistroEmissoresSse.class)))
+				.setControllerAdvice(new SobrecargaExceptionHandler())
+				.build();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		liberarExecutor.countDown();
+		consultasExecutor.shutdown();
+	}
+
+	@Test
+	public void deveResponder503ComRetryAfterQuandoOExecutorDeConsultasEstiverSaturado() throws Exception {
+		// uma tarefa em execução e outra na fila ocupam a única thread e a fila de capacidade 1
+		consultasExecutor.execute(this::aguardarLiberacao);
+		consultasExecutor.execute(this::aguardarLiberacao);
+
+		mvc.perform(get("/api/lancamentos").requestAttr(JwtTokenFilter.ATRIBUTO_USUARIO, usuario()))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+				.andExpect(content().string(ExecucaoExceptionMessages.SERVIDOR_SOBRECARREGADO));
+		Mockito.verifyNoInteractions(lancamentoService);
+	}
+
+	@Test
+	public void deveBuscarLancamentosNoExecutorDeConsultas() throws Exception {
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(1L).descricao("aluguel").ano(2019).build();
+		Mockito.when(lancamentoService.buscar(filtro)).thenReturn(Arrays.asList(new LancamentoResumo(10L, "aluguel",
+				1, 2019, BigDecimal.TEN, 1L, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 2L)));
+
+		MvcResult resultado = mvc.perform(get("/api/lancamentos")
+						.param("descricao", "aluguel")
+						.param("ano", "2019")
+						.requestAttr(JwtTokenFilter.ATRIBUTO_USUARIO, usuario()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mvc.perform(asyncDispatch(resultado))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].id").value(10))
+				.andExpect(jsonPath("$[0].descricao").value("aluguel"))
+				.andExpect(jsonPath("$[0].tipo").value("DESPESA"))
+				.andExpect(jsonPath("$[0].status").value("PENDENTE"))
+				.andExpect(jsonPath("$[0].usuario").value(1))
+				.andExpect(jsonPath("$[0].versao").value(2));
+	}
+
+	@Test
+	public void deveObterOSaldoNoExecutorDeConsultas() throws Exception {
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1L)).thenReturn(BigDecimal.valueOf(150.5));
+
+		MvcResult resultado = mvc.perform(get("/api/usuarios/1/saldo")
+						.requestAttr(JwtTokenFilter.ATRIBUTO_USUARIO, usuario()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mvc.perform(asyncDispatch(resultado))
+				.andExpect(status().isOk())
+				.andExpect(content().string("150.5"));
+	}
+
+	private void aguardarLiberacao() {
+		try {
+			liberarExecutor.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static UsuarioAutenticado usuario() {
+		return new UsuarioAutenticado(1L, "usuario");
+	}
+}
@@ -0,0 +1,58 @@
+package com.thairam.minhasfinancas.api.sse;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class ConexaoSseTest {
+
+	CountDownLatch envioIniciado = new CountDownLatch(1);
+	CountDownLatch liberarEnvio = new CountDownLatch(1);
+
+	@AfterEach
+	public void tearDown() {
+		liberarEnvio.countDown();
+	}
+
+	@Test
+	public void deveIndicarEnvioParadoQuandoOClienteNaoLe() throws Exception {
+		// emissor cujo envio bloqueia como a escrita para um cliente que parou de ler
+		SseEmitter emitter = new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				envioIniciado.countDown();
+				try {
+					liberarEnvio.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		ConexaoSse conexao = new ConexaoSse(1L, emitter, 2, tarefa -> new Thread(tarefa).start());
+		assertFalse(conexao.isEnvioParado(System.currentTimeMillis(), 0));
+
+		conexao.enfileirar(SseEmitter.event().comment("heartbeat"));
+		assertTrue(envioIniciado.await(5, TimeUnit.SECONDS));
+
+		long agora = System.currentTimeMillis();
+		assertFalse(conexao.isEnvioParado(agora, 60000));
+		assertTrue(conexao.isEnvioParado(agora + 1001, 1000));
+	}
+
+	@Test
+	public void naoDeveAceitarEventosQuandoOExecutorRejeitaOEnvio() {
+		ConexaoSse conexao = new ConexaoSse(1L, new SseEmitter(), 2, tarefa -> {
+			throw new RejectedExecutionException();
+		});
+
+		assertFalse(conexao.enfileirar(SseEmitter.event().comment("heartbeat")));
+	}
+}
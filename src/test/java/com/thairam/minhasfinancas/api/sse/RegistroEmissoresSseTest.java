@@ -0,0 +1,87 @@
+package com.thairam.minhasfinancas.api.sse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.thairam.minhasfinancas.model.entity.EventoLancamento;
+import com.thairam.minhasfinancas.model.enums.OperacaoLancamento;
+import com.thairam.minhasfinancas.service.EventoLancamentoService;
+import com.thairam.minhasfinancas.service.LancamentoService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RegistroEmissoresSseTest {
+
+	SimpleMeterRegistry registry;
+	EventoLancamentoService eventoLancamentoService;
+	ThreadPoolTaskExecutor executor;
+	RegistroEmissoresSse registroEmissoresSse;
+
+	@BeforeEach
+	public void setUp() {
+		registry = new SimpleMeterRegistry();
+		eventoLancamentoService = Mockito.mock(EventoLancamentoService.class);
+		// executor que não executa as tarefas: simula um cliente que não consome os eventos
+		executor = Mockito.mock(ThreadPoolTaskExecutor.class);
+		registroEmissoresSse = new RegistroEmissoresSse(Mockito.mock(LancamentoService.class), eventoLancamentoService, executor,
+				Mockito.mock(PlatformTransactionManager.class), registry, 60000, 2, 2, 10000);
+	}
+
+	@Test
+	public void deveDescartarAConexaoQuandoAFilaEnche() {
+		registroEmissoresSse.conectar(1L);
+
+		registroEmissoresSse.enviarHeartbeat();
+		registroEmissoresSse.enviarHeartbeat();
+		assertEquals(registry.get("minhasfinancas.sse.conexoes").gauge().value(), 1.0);
+
+		registroEmissoresSse.enviarHeartbeat();
+		assertEquals(registry.get("minhasfinancas.sse.conexoes").gauge().value(), 0.0);
+		assertEquals(registry.get("minhasfinancas.sse.descartes").counter().count(), 1.0);
+	}
+
+	@Test
+	public void deveDescartarAConexaoMaisAntigaAcimaDoLimitePorUsuario() {
+		registroEmissoresSse.conectar(1L);
+		registroEmissoresSse.conectar(1L);
+		registroEmissoresSse.conectar(1L);
+		registroEmissoresSse.conectar(2L);
+
+		assertEquals(registry.get("minhasfinancas.sse.conexoes").gauge().value(), 3.0);
+		assertEquals(registry.get("minhasfinancas.sse.descartes").counter().count(), 1.0);
+	}
+
+	@Test
+	public void deveEnviarOsEventosPublicadosApenasAosUsuariosConectados() {
+		Mockito.when(eventoLancamentoService.obterUltimaPosicaoPublicada()).thenReturn(10L);
+		Mockito.when(eventoLancamentoService.buscarPublicadosApos(Mockito.eq(10L), Mockito.anyInt()))
+			.thenReturn(Arrays.asList(criarEvento(11L, 1L), criarEvento(12L, 2L)));
+
+		// sem conexões apenas registra a posição atual da outbox
+		registroEmissoresSse.enviarEventosPublicados();
+		Mockito.verify(eventoLancamentoService, Mockito.never()).buscarPublicadosApos(Mockito.any(), Mockito.anyInt());
+
+		registroEmissoresSse.conectar(1L);
+		registroEmissoresSse.enviarEventosPublicados();
+
+		// uma tarefa para o saldo inicial da conexão e outra para os eventos do usuário 1
+		Mockito.verify(executor, Mockito.times(2)).execute(Mockito.any());
+		Mockito.verify(eventoLancamentoService).buscarPublicadosApos(Mockito.eq(10L), Mockito.anyInt());
+	}
+
+	private static EventoLancamento criarEvento(Long posicao, Long idUsuario) {
+		return EventoLancamento.builder()
+				.posicao(posicao)
+				.idUsuario(idUsuario)
+				.idLancamento(posicao)
+				.operacao(OperacaoLancamento.INCLUSAO)
+				.build();
+	}
+}
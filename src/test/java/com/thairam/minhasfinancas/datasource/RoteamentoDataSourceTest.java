@@ -0,0 +1,70 @@
+package com.thairam.minhasfinancas.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class RoteamentoDataSourceTest {
+
+	HikariDataSource replica;
+
+	@BeforeEach
+	public void setUp() {
+		replica = criarPool("replica");
+	}
+
+	@AfterEach
+	public void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		replica.close();
+	}
+
+	@Test
+	public void deveEnviarApenasTransacoesSomenteLeituraParaAReplica() throws SQLException {
+		ConjuntoReplicas replicas = new ConjuntoReplicas(Collections.singletonList(replica), "", 10);
+		replicas.verificar();
+		try(RoteamentoDataSource dataSource = new RoteamentoDataSource(criarPool("primario"), replicas)) {
+			String escrita = url(dataSource);
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+			String leitura = url(dataSource);
+
+			assertEquals(escrita, "jdbc:h2:mem:primario");
+			assertEquals(leitura, "jdbc:h2:mem:replica");
+		}
+	}
+
+	@Test
+	public void deveLerDoPrimarioQuandoAReplicaEstiverAtrasada() throws SQLException {
+		ConjuntoReplicas replicas = new ConjuntoReplicas(Collections.singletonList(replica), "SELECT 30", 10);
+		replicas.verificar();
+		try(RoteamentoDataSource dataSource = new RoteamentoDataSource(criarPool("primario"), replicas)) {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+			assertEquals(url(dataSource), "jdbc:h2:mem:primario");
+			assertEquals(replicas.health().getStatus().getCode(), "DEGRADADO");
+		}
+	}
+
+	private static String url(RoteamentoDataSource dataSource) throws SQLException {
+		try(Connection conexao = dataSource.getConnection()) {
+			return conexao.getMetaData().getURL();
+		}
+	}
+
+	private static HikariDataSource criarPool(String nome) {
+		HikariDataSource pool = new HikariDataSource();
+		pool.setPoolName(nome);
+		pool.setJdbcUrl("jdbc:h2:mem:" + nome);
+		pool.setMaximumPoolSize(1);
+		return pool;
+	}
+}
@@ -0,0 +1,75 @@
+package com.thairam.minhasfinancas.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Aplica as migrações sobre o schema criado antes do Flyway, com a mesma configuração de
+ * baseline de application.properties.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class ConversaoSchemaLegadoTest {
+
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12");
+
+	DriverManagerDataSource dataSource;
+	JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	public void setUp() {
+		dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("DROP SCHEMA IF EXISTS financas CASCADE");
+		jdbcTemplate.execute("CREATE SCHEMA financas");
+		jdbcTemplate.execute("CREATE TABLE financas.usuario (id bigserial PRIMARY KEY, nome varchar(150), "
+				+ "email varchar(100), senha varchar(20), data_cadastro date DEFAULT now())");
+		jdbcTemplate.execute("CREATE TABLE financas.lancamento (id bigserial PRIMARY KEY, descricao varchar(100) NOT NULL, "
+				+ "mes integer NOT NULL, ano integer NOT NULL, valor numeric(16,2) NOT NULL, tipo varchar(20) NOT NULL, "
+				+ "status varchar(20) NOT NULL, id_usuario bigint NOT NULL REFERENCES financas.usuario (id), "
+				+ "data_cadastro date DEFAULT now())");
+		jdbcTemplate.update("INSERT INTO financas.usuario (nome, email, senha) VALUES ('usuario', 'usuario@email.com', 'senha')");
+		jdbcTemplate.update("INSERT INTO financas.lancamento (descricao, mes, ano, valor, tipo, status, id_usuario) VALUES "
+				+ "('salario', 1, 2005, 100, 'RECEITA', 'EFETIVADO', 1), "
+				+ "('aluguel', 2, 2005, 30, 'DESPESA', 'EFETIVADO', 1), "
+				+ "('mercado', 3, 2019, 20, 'DESPESA', 'PENDENTE', 1)");
+	}
+
+	@Test
+	public void deveConverterOSchemaExistente() {
+		Flyway.configure()
+				.dataSource(dataSource)
+				.schemas("financas")
+				.baselineOnMigrate(true)
+				.baselineVersion("1")
+				.load()
+				.migrate();
+
+		Boolean particionada = jdbcTemplate.queryForObject(
+				"SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'financas.lancamento'::regclass)",
+				Boolean.class);
+		String particao = jdbcTemplate.queryForObject(
+				"SELECT tableoid::regclass::text FROM financas.lancamento WHERE descricao = 'salario'", String.class);
+		Integer lancamentos = jdbcTemplate.queryForObject("SELECT count(*) FROM financas.lancamento", Integer.class);
+		Long proximoId = jdbcTemplate.queryForObject("SELECT nextval('financas.lancamento_seq')", Long.class);
+		BigDecimal saldo = jdbcTemplate.queryForObject(
+				"SELECT receitas - despesas FROM financas.saldo_usuario WHERE id_usuario = 1", BigDecimal.class);
+
+		assertTrue(particionada);
+		assertEquals(particao, "financas.lancamento_2005");
+		assertEquals(lancamentos, 3);
+		assertEquals(proximoId, 3L + 50);
+		assertEquals(saldo.compareTo(BigDecimal.valueOf(70)), 0);
+	}
+}
@@ -0,0 +1,47 @@
+package com.thairam.minhasfinancas.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Year;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Sobe a aplicação sobre um PostgreSQL vazio: o Flyway aplica todas as migrações e o Hibernate
+ * valida o schema resultante contra as entidades.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:tc:postgresql:12:///minhasfinancas",
+		"spring.datasource.driver-class-name=org.testcontainers.jdbc.ContainerDatabaseDriver",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"minhasfinancas.jwt.chave=Y2hhdmUtZGUtdGVzdGUtZGFzLW1pZ3JhY29lcy1jaGF2ZS1kZS10ZXN0ZS1kYXMtbWlncmFjb2VzLWNoYXZlLWRlLXRlc3RlLWRhcy1taWdyYWNvZXMt"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public class MigracoesPostgreSQLTest {
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Test
+	public void deveCriarOSchemaValidoParaAsEntidades() {
+		Integer versao = jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM financas.flyway_schema_history WHERE success", Integer.class);
+		Boolean particionada = jdbcTemplate.queryForObject(
+				"SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'financas.lancamento'::regclass)",
+				Boolean.class);
+		String particaoAnoAtual = jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+				"financas.lancamento_" + Year.now().getValue());
+
+		assertTrue(versao > 0);
+		assertTrue(particionada);
+		assertEquals(particaoAnoAtual, "financas.lancamento_" + Year.now().getValue());
+	}
+}
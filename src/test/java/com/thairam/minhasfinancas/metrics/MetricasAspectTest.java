@@ -0,0 +1,71 @@
+package com.thairam.minhasfinancas.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.thairam.minhasfinancas.exceptions.ErroAutenticacao;
+import com.thairam.minhasfinancas.messages.UsuarioExceptionMessages;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.model.repository.UsuarioRepository;
+import com.thairam.minhasfinancas.security.LimitadorTentativasAutenticacao;
+import com.thairam.minhasfinancas.service.UsuarioService;
+import com.thairam.minhasfinancas.service.impl.SenhaServiceImpl;
+import com.thairam.minhasfinancas.service.impl.UsuarioServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MetricasAspectTest {
+
+	SimpleMeterRegistry registry;
+	UsuarioRepository usuarioRepository;
+	UsuarioService usuarioService;
+
+	@BeforeEach
+	public void setUp() {
+		registry = new SimpleMeterRegistry();
+		usuarioRepository = Mockito.mock(UsuarioRepository.class);
+
+		AspectJProxyFactory fabrica = new AspectJProxyFactory(new UsuarioServiceImpl(usuarioRepository,
+				new SenhaServiceImpl(4, 1, 10, 300), new LimitadorTentativasAutenticacao(5, 15)));
+		fabrica.addAspect(new MetricasAspect(registry));
+		usuarioService = fabrica.getProxy();
+	}
+
+	@Test
+	public void deveMedirALatenciaDoServico() {
+		Usuario usuario = Usuario.builder().id(1L).email("email@email.com").senha("senha").build();
+		Mockito.when(usuarioRepository.findByEmail("email@email.com")).thenReturn(Optional.of(usuario));
+
+		usuarioService.autenticar("email@email.com", "senha");
+
+		long chamadas = registry.get(MetricasAspect.METRICA_SERVICO)
+				.tags("class", "UsuarioServiceImpl", "method", "autenticar", "exception", "none")
+				.timer().count();
+		assertEquals(chamadas, 1);
+	}
+
+	@Test
+	public void deveContarErrosDeAutenticacaoPorMensagem() {
+		Mockito.when(usuarioRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.empty());
+
+		Throwable exception = Assertions.catchThrowable( () -> usuarioService.autenticar("email@email.com", "senha"));
+
+		assertEquals(exception.getClass(), ErroAutenticacao.class);
+		double erros = registry.get(MetricasAspect.METRICA_ERROS)
+				.tags("excecao", "ErroAutenticacao",
+						"mensagem", UsuarioExceptionMessages.USUARIO_NAO_ENCONTRADO_PARA_EMAIL)
+				.counter().count();
+		assertEquals(erros, 1.0);
+		long chamadasComErro = registry.get(MetricasAspect.METRICA_SERVICO)
+				.tags("method", "autenticar", "exception", "ErroAutenticacao")
+				.timer().count();
+		assertEquals(chamadasComErro, 1);
+	}
+}
@@ -0,0 +1,111 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CacheSegundoNivelTest {
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	Statistics estatisticas;
+
+	@BeforeEach
+	public void setUp() {
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.setStatisticsEnabled(true);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		lancamentoRepository.deleteAllInBatch();
+		usuarioRepository.deleteAllInBatch();
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+	}
+
+	@Test
+	public void deveLerUsuarioRepetidamenteSemConsultarOBanco() {
+		Usuario usuario = usuarioRepository.save(criarUsuario());
+		estatisticas.clear();
+
+		usuarioRepository.findById(usuario.getId());
+		long consultasAposPrimeiraLeitura = estatisticas.getPrepareStatementCount();
+		usuarioRepository.findById(usuario.getId());
+		usuarioRepository.findById(usuario.getId());
+
+		assertEquals(estatisticas.getPrepareStatementCount(), consultasAposPrimeiraLeitura);
+		assertTrue(estatisticas.getSecondLevelCacheHitCount() >= 2);
+	}
+
+	@Test
+	public void deveReutilizarOSaldoEmCacheAteUmaNovaEscritaDeLancamento() {
+		Usuario usuario = usuarioRepository.save(criarUsuario());
+		lancamentoRepository.save(criarLancamento(usuario));
+		estatisticas.clear();
+
+		BigDecimal primeiraLeitura = obterReceitas(usuario);
+		BigDecimal segundaLeitura = obterReceitas(usuario);
+
+		assertEquals(estatisticas.getPrepareStatementCount(), 1);
+		assertEquals(estatisticas.getQueryCacheHitCount(), 1);
+		assertEquals(primeiraLeitura.compareTo(segundaLeitura), 0);
+
+		lancamentoRepository.save(criarLancamento(usuario));
+		estatisticas.clear();
+		BigDecimal leituraAposEscrita = obterReceitas(usuario);
+
+		assertEquals(estatisticas.getQueryCacheHitCount(), 0);
+		assertEquals(leituraAposEscrita.compareTo(primeiraLeitura.multiply(BigDecimal.valueOf(2))), 0);
+	}
+
+	private BigDecimal obterReceitas(Usuario usuario) {
+		return lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus(
+				usuario.getId(), TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+	}
+
+	private Usuario criarUsuario() {
+		return Usuario.builder().nome("usuario").email("cache@email.com").senha("senha").build();
+	}
+
+	private Lancamento criarLancamento(Usuario usuario) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		return lancamento;
+	}
+}
@@ -0,0 +1,107 @@
+package com.thairam.minhasfinancas.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.LancamentoId;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+
+/**
+ * Consultas sobre o schema criado pelas migrações, com a tabela de lançamentos particionada por ano.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:tc:postgresql:12:///minhasfinancas",
+		"spring.datasource.driver-class-name=org.testcontainers.jdbc.ContainerDatabaseDriver"
+})
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class LancamentoRepositoryPostgreSQLTest {
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Test
+	public void deveAtualizarEmLoteApenasLancamentosForaDoNovoStatus() {
+		Usuario usuario = criarESalvarUsuario();
+		Lancamento pendente = criarESalvarLancamento(usuario, StatusLancamento.PENDENTE);
+		Lancamento cancelado = criarESalvarLancamento(usuario, StatusLancamento.CANCELADO);
+		Lancamento efetivado = criarESalvarLancamento(usuario, StatusLancamento.EFETIVADO);
+
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(usuario.getId()).ano(2019).build();
+		List<LancamentoResumo> anteriores = lancamentoRepository.bloquearParaAlteracaoDeStatus(filtro, StatusLancamento.EFETIVADO);
+		lancamentoRepository.atualizarStatus(anteriores, StatusLancamento.EFETIVADO);
+		entityManager.clear();
+
+		assertEquals(anteriores.size(), 2);
+		assertEquals(anteriores.stream().filter(l -> l.getId().equals(cancelado.getId())).findFirst().get().getStatus(),
+				StatusLancamento.CANCELADO);
+		assertEquals(anteriores.stream().filter(l -> l.getId().equals(pendente.getId())).findFirst().get().getVersao(),
+				pendente.getVersao());
+		assertEquals(entityManager.find(Lancamento.class, new LancamentoId(pendente.getId(), pendente.getAno())).getStatus(), StatusLancamento.EFETIVADO);
+		assertEquals(entityManager.find(Lancamento.class, new LancamentoId(pendente.getId(), pendente.getAno())).getVersao(), Long.valueOf(pendente.getVersao() + 1));
+		assertEquals(entityManager.find(Lancamento.class, new LancamentoId(cancelado.getId(), cancelado.getAno())).getStatus(), StatusLancamento.EFETIVADO);
+		assertEquals(entityManager.find(Lancamento.class, new LancamentoId(efetivado.getId(), efetivado.getAno())).getVersao(), efetivado.getVersao());
+	}
+
+	@Test
+	public void deveAtualizarEmLoteApenasOsIdsInformadosDoUsuario() {
+		Usuario usuario = criarESalvarUsuario();
+		Lancamento informado = criarESalvarLancamento(usuario, StatusLancamento.PENDENTE);
+		Lancamento naoInformado = criarESalvarLancamento(usuario, StatusLancamento.PENDENTE);
+
+		LancamentoFiltro filtro = LancamentoFiltro.builder()
+				.usuario(usuario.getId())
+				.ids(Arrays.asList(informado.getId(), naoInformado.getId() + 1_000))
+				.build();
+		List<LancamentoResumo> anteriores = lancamentoRepository.bloquearParaAlteracaoDeStatus(filtro, StatusLancamento.CANCELADO);
+		lancamentoRepository.atualizarStatus(anteriores, StatusLancamento.CANCELADO);
+		entityManager.clear();
+
+		assertEquals(anteriores.size(), 1);
+		assertEquals(anteriores.get(0).getId(), informado.getId());
+		assertEquals(anteriores.get(0).getStatus(), StatusLancamento.PENDENTE);
+		assertEquals(entityManager.find(Lancamento.class, new LancamentoId(naoInformado.getId(), naoInformado.getAno())).getStatus(), StatusLancamento.PENDENTE);
+	}
+
+	private Usuario criarESalvarUsuario() {
+		Usuario usuario = Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build();
+		return entityManager.persist(usuario);
+	}
+
+	private Lancamento criarESalvarLancamento(Usuario usuario, StatusLancamento status) {
+		Lancamento lancamento = Lancamento.builder()
+				.ano(2019)
+				.mes(1)
+				.descricao("descrição lançamento")
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.RECEITA)
+				.status(status)
+				.usuario(usuario)
+				.dataCadastro(LocalDate.now())
+				.build();
+		return entityManager.persistAndFlush(lancamento);
+	}
+}
@@ -6,8 +6,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,12 +23,20 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Example;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.LancamentoId;
+import com.thairam.minhasfinancas.model.entity.Usuario;
 import com.thairam.minhasfinancas.model.enums.StatusLancamento;
 import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.filter.CursorLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+import com.thairam.minhasfinancas.model.projection.ResumoMensal;
+import com.thairam.minhasfinancas.model.projection.SaldoConsolidado;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
@@ -34,6 +50,9 @@ public class LancamentoRepositoryTest {
 	@Autowired
 	TestEntityManager entityManager;
 	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
 	private static Integer ano = 2019;
 	private static Integer mes = 1;	
 	private static String descricao = "descrição lançamento";
@@ -52,34 +71,301 @@ public class LancamentoRepositoryTest {
 	@Test
 	public void deveDeletarUmLancamento() {
 		Lancamento lancamento = criarESalvarLancamento();
-		lancamento = entityManager.find(Lancamento.class, lancamento.getId());
+		lancamento = entityManager.find(Lancamento.class, new LancamentoId(lancamento.getId(), lancamento.getAno()));
 		lancamentoRepository.delete(lancamento);
-		Lancamento lancamentoInexistente = entityManager.find(Lancamento.class, lancamento.getId());
+		Lancamento lancamentoInexistente = entityManager.find(Lancamento.class, new LancamentoId(lancamento.getId(), lancamento.getAno()));
 		assertEquals(lancamentoInexistente, null);
 	}	
 	
 	@Test
 	public void deveAtualizarLancamento() {
 		Lancamento lancamento = criarESalvarLancamento();
-		lancamento.setAno(2018);
 		lancamento.setDescricao("lançamento atualizado");
 		lancamento.setStatus(StatusLancamento.CANCELADO);
 		
 		lancamentoRepository.save(lancamento);
-		Lancamento lancamentoAtualizado = entityManager.find(Lancamento.class, lancamento.getId());
+		Lancamento lancamentoAtualizado = entityManager.find(Lancamento.class, new LancamentoId(lancamento.getId(), lancamento.getAno()));
 		
-		assertEquals(lancamentoAtualizado.getAno(), 2018);
 		assertEquals(lancamentoAtualizado.getDescricao(), "lançamento atualizado");
 		assertEquals(lancamentoAtualizado.getStatus(), StatusLancamento.CANCELADO);
 	}
 	
+	@Test
+	public void deveMoverLancamentoParaOutroAnoApenasNaVersaoInformada() {
+		Lancamento lancamento = criarESalvarLancamento();
+		entityManager.flush();
+		Long versao = lancamento.getVersao();
+		
+		Optional<Lancamento> movido = lancamentoRepository.moverParaAno(lancamento, 2018);
+		
+		assertTrue(movido.isPresent());
+		assertEquals(movido.get().getAno(), 2018);
+		assertEquals(movido.get().getVersao(), Long.valueOf(versao + 1));
+		assertEquals(entityManager.find(Lancamento.class, new LancamentoId(lancamento.getId(), ano)), null);
+		assertTrue(!lancamentoRepository.moverParaAno(lancamento, 2017).isPresent());
+	}
+	
 	@Test
 	public void deveBuscarLancamentoPorId() {
 		Lancamento lancamento = criarESalvarLancamento();		
-		Optional<Lancamento> lancamentoEncontrado = lancamentoRepository.findById(lancamento.getId());
+		Optional<Lancamento> lancamentoEncontrado = lancamentoRepository.obterPorId(lancamento.getId());
 		assertTrue(lancamentoEncontrado.isPresent());
 	}
 	
+	@Test
+	public void devePaginarAPesquisaDeLancamentosPorCursor() {
+		Usuario usuario = criarESalvarUsuario();
+		for(int mesLancamento = 1; mesLancamento <= 5; mesLancamento++) {
+			Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			lancamento.setMes(mesLancamento);
+			entityManager.persist(lancamento);
+		}
+		
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(usuario.getId()).ano(ano).build();
+		List<LancamentoResumo> primeiraPagina = lancamentoRepository.pesquisar(filtro, 2);
+		filtro.setCursor(CursorLancamento.de(primeiraPagina.get(1)));
+		List<LancamentoResumo> segundaPagina = lancamentoRepository.pesquisar(filtro, 2);
+		filtro.setCursor(CursorLancamento.de(segundaPagina.get(1)));
+		List<LancamentoResumo> terceiraPagina = lancamentoRepository.pesquisar(filtro, 2);
+		
+		assertEquals(meses(primeiraPagina), java.util.Arrays.asList(5, 4));
+		assertEquals(meses(segundaPagina), java.util.Arrays.asList(3, 2));
+		assertEquals(meses(terceiraPagina), java.util.Arrays.asList(1));
+	}
+	
+	@Test
+	public void devePesquisarLancamentosPeloPrefixoDaDescricaoSemDiferenciarMaiusculas() {
+		Usuario usuario = criarESalvarUsuario();
+		Lancamento aluguel = criarLancamento();
+		aluguel.setUsuario(usuario);
+		aluguel.setDescricao("Aluguel de março");
+		entityManager.persist(aluguel);
+		Lancamento salario = criarLancamento();
+		salario.setUsuario(usuario);
+		salario.setDescricao("Salário");
+		entityManager.persist(salario);
+		
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(usuario.getId()).descricao("ALUG").build();
+		List<LancamentoResumo> resultado = lancamentoRepository.pesquisar(filtro, 10);
+		
+		assertEquals(resultado.size(), 1);
+		assertEquals(resultado.get(0).getId(), aluguel.getId());
+		assertEquals(resultado.get(0).getUsuario(), usuario.getId());
+	}
+
+	@Test
+	public void deveBuscarLancamentosDoUsuarioPorTrechoDaDescricaoSemDiferenciarMaiusculas() {
+		Usuario usuario = criarESalvarUsuario();
+		Lancamento aluguel = criarLancamento();
+		aluguel.setUsuario(usuario);
+		aluguel.setDescricao("Aluguel de março");
+		entityManager.persist(aluguel);
+		Lancamento salario = criarLancamento();
+		salario.setUsuario(usuario);
+		salario.setDescricao("Salário");
+		entityManager.persist(salario);
+		entityManager.persist(criarLancamento());
+
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(usuario.getId()).descricao("MARÇO").ano(ano).build();
+		List<LancamentoResumo> resultado = lancamentoRepository.buscar(filtro);
+
+		assertEquals(resultado.size(), 1);
+		assertEquals(resultado.get(0).getId(), aluguel.getId());
+		assertEquals(resultado.get(0).getVersao(), aluguel.getVersao());
+	}
+
+	@Test
+	public void deveExportarOsLancamentosDoUsuarioEmOrdemCronologica() {
+		Usuario usuario = criarESalvarUsuario();
+		for(int mesLancamento = 3; mesLancamento >= 1; mesLancamento--) {
+			Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			lancamento.setMes(mesLancamento);
+			entityManager.persist(lancamento);
+		}
+		entityManager.persist(criarLancamento());
+		
+		try(Stream<LancamentoResumo> lancamentos = lancamentoRepository.exportarPorUsuario(usuario.getId())) {
+			assertEquals(meses(lancamentos.collect(Collectors.toList())), java.util.Arrays.asList(1, 2, 3));
+		}
+	}
+	
+	@Test
+	public void deveListarLancamentosComUmaUnicaConsultaIndependenteDaQuantidade() {
+		assertEquals(contarConsultasAoListarLancamentos(1), 1L);
+		assertEquals(contarConsultasAoListarLancamentos(30), 1L);
+	}
+	
+	private long contarConsultasAoListarLancamentos(int quantidade) {
+		lancamentoRepository.deleteAllInBatch();
+		for(int i = 0; i < quantidade; i++) {
+			Usuario usuario = entityManager.persist(Usuario.builder()
+					.nome("usuario").email("usuario" + i + "@email.com").senha("senha").build());
+			Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			entityManager.persist(lancamento);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		entityManagerFactory.getCache().evictAll();
+		
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.setStatisticsEnabled(true);
+		estatisticas.clear();
+		
+		Lancamento filtro = new Lancamento();
+		filtro.setAno(ano);
+		List<Long> usuarios = lancamentoRepository.findAll(Example.of(filtro))
+				.stream()
+				.map(lancamento -> lancamento.getUsuario().getId())
+				.collect(Collectors.toList());
+		
+		assertEquals(usuarios.size(), quantidade);
+		return estatisticas.getPrepareStatementCount();
+	}
+	
+	@Test
+	public void deveInserirLancamentosEmLote() {
+		Usuario usuario = criarESalvarUsuario();
+		List<Lancamento> lancamentos = new ArrayList<>();
+		for(int i = 0; i < 10_000; i++) {
+			Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			lancamentos.add(lancamento);
+		}
+		
+		lancamentoRepository.inserirEmLote(lancamentos);
+		
+		assertTrue(lancamentos.stream().allMatch(lancamento -> lancamento.getId() != null));
+		assertEquals(lancamentoRepository.count(), 10_000L);
+	}
+	
+	@Test
+	public void deveAtualizarEmLoteApenasLancamentosNoStatusEsperado() {
+		Usuario usuario = criarESalvarUsuario();
+		Lancamento pendente = criarLancamento();
+		pendente.setUsuario(usuario);
+		entityManager.persist(pendente);
+		Lancamento cancelado = criarLancamento();
+		cancelado.setUsuario(usuario);
+		cancelado.setStatus(StatusLancamento.CANCELADO);
+		entityManager.persist(cancelado);
+		
+		LancamentoFiltro filtro = LancamentoFiltro.builder()
+				.usuario(usuario.getId())
+				.ano(ano)
+				.status(StatusLancamento.PENDENTE)
+				.build();
+		List<LancamentoResumo> bloqueados = lancamentoRepository.bloquearParaAlteracaoDeStatus(filtro, StatusLancamento.EFETIVADO);
+		int atualizados = lancamentoRepository.atualizarStatus(bloqueados, StatusLancamento.EFETIVADO);
+		entityManager.clear();
+		
+		assertEquals(bloqueados.size(), 1);
+		assertEquals(bloqueados.get(0).getId(), pendente.getId());
+		assertEquals(bloqueados.get(0).getStatus(), StatusLancamento.PENDENTE);
+		assertEquals(atualizados, 1);
+		assertEquals(entityManager.find(Lancamento.class, new LancamentoId(pendente.getId(), pendente.getAno())).getStatus(), StatusLancamento.EFETIVADO);
+		assertEquals(entityManager.find(Lancamento.class, new LancamentoId(pendente.getId(), pendente.getAno())).getVersao(), Long.valueOf(pendente.getVersao() + 1));
+		assertEquals(entityManager.find(Lancamento.class, new LancamentoId(cancelado.getId(), cancelado.getAno())).getStatus(), StatusLancamento.CANCELADO);
+	}
+	
+	@Test
+	public void deveResumirReceitasEDespesasPorMes() {
+		Usuario usuario = criarESalvarUsuario();
+		persistirLancamento(usuario, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100);
+		persistirLancamento(usuario, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 30);
+		persistirLancamento(usuario, 1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 1000);
+		persistirLancamento(usuario, 2, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 20);
+		
+		List<ResumoMensal> resumo = lancamentoRepository.obterResumoMensal(usuario.getId(), ano, ano,
+				java.util.Arrays.asList(StatusLancamento.EFETIVADO), TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		
+		assertEquals(resumo.size(), 2);
+		assertEquals(resumo.get(0).getMes(), 1);
+		assertEquals(resumo.get(0).getReceitas().compareTo(BigDecimal.valueOf(100)), 0);
+		assertEquals(resumo.get(0).getDespesas().compareTo(BigDecimal.valueOf(30)), 0);
+		assertEquals(resumo.get(1).getMes(), 2);
+		assertEquals(resumo.get(1).getSaldo().compareTo(BigDecimal.valueOf(-20)), 0);
+	}
+	
+	@Test
+	public void deveConsolidarOSaldoPorStatusEmUmaUnicaConsulta() {
+		Usuario usuario = criarESalvarUsuario();
+		Usuario usuarioSemLancamentos = entityManager.persist(
+				Usuario.builder().nome("outro").email("outro@email.com").senha("senha").build());
+		persistirLancamento(usuario, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100);
+		persistirLancamento(usuario, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 30);
+		persistirLancamento(usuario, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 50);
+		persistirLancamento(usuario, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 200);
+		persistirLancamento(usuario, 2, TipoLancamento.RECEITA, StatusLancamento.CANCELADO, 1000);
+		entityManager.flush();
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.setStatisticsEnabled(true);
+		estatisticas.clear();
+		
+		SaldoConsolidado saldo = obterSaldoConsolidado(usuario.getId()).get();
+		
+		assertEquals(estatisticas.getPrepareStatementCount(), 1L);
+		assertEquals(saldo.getSaldo().compareTo(BigDecimal.valueOf(70)), 0);
+		assertEquals(saldo.getSaldoPendente().compareTo(BigDecimal.valueOf(-150)), 0);
+		assertEquals(saldo.getSaldoProjetado().compareTo(BigDecimal.valueOf(-80)), 0);
+		assertEquals(obterSaldoConsolidado(usuarioSemLancamentos.getId()).get().getSaldoProjetado().signum(), 0);
+		assertTrue(!obterSaldoConsolidado(usuario.getId() + 100).isPresent());
+	}
+	
+	@Test
+	public void deveConsolidarOsSaldosDeVariosUsuariosPorIdsEPorPagina() {
+		Usuario primeiro = criarESalvarUsuario();
+		Usuario segundo = entityManager.persist(
+				Usuario.builder().nome("segundo").email("segundo@email.com").senha("senha").build());
+		Usuario terceiro = entityManager.persist(
+				Usuario.builder().nome("terceiro").email("terceiro@email.com").senha("senha").build());
+		persistirLancamento(primeiro, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100);
+		persistirLancamento(segundo, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 40);
+		persistirLancamento(terceiro, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 10);
+		
+		List<SaldoConsolidado> porIds = lancamentoRepository.obterSaldosConsolidados(
+				java.util.Arrays.asList(terceiro.getId(), primeiro.getId()), StatusLancamento.EFETIVADO, 
+				StatusLancamento.PENDENTE, TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		List<SaldoConsolidado> pagina = lancamentoRepository.obterSaldosConsolidadosAposUsuario(
+				primeiro.getId(), StatusLancamento.EFETIVADO, StatusLancamento.PENDENTE, 
+				TipoLancamento.RECEITA, TipoLancamento.DESPESA, org.springframework.data.domain.PageRequest.of(0, 1));
+		
+		assertEquals(porIds.size(), 2);
+		assertEquals(porIds.get(0).getIdUsuario(), primeiro.getId());
+		assertEquals(porIds.get(0).getSaldo().compareTo(BigDecimal.valueOf(100)), 0);
+		assertEquals(porIds.get(1).getSaldoProjetado().compareTo(BigDecimal.TEN), 0);
+		assertEquals(pagina.size(), 1);
+		assertEquals(pagina.get(0).getIdUsuario(), segundo.getId());
+		assertEquals(pagina.get(0).getSaldo().compareTo(BigDecimal.valueOf(-40)), 0);
+	}
+	
+	private Optional<SaldoConsolidado> obterSaldoConsolidado(Long idUsuario) {
+		return lancamentoRepository.obterSaldoConsolidado(idUsuario, StatusLancamento.EFETIVADO, 
+				StatusLancamento.PENDENTE, TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+	}
+	
+	private void persistirLancamento(Usuario usuario, int mesLancamento, TipoLancamento tipoLancamento,
+			StatusLancamento statusLancamento, int valorLancamento) {
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setMes(mesLancamento);
+		lancamento.setTipo(tipoLancamento);
+		lancamento.setStatus(statusLancamento);
+		lancamento.setValor(BigDecimal.valueOf(valorLancamento));
+		entityManager.persist(lancamento);
+	}
+	
+	private List<Integer> meses(List<LancamentoResumo> lancamentos) {
+		return lancamentos.stream().map(LancamentoResumo::getMes).collect(Collectors.toList());
+	}
+	
+	private Usuario criarESalvarUsuario() {
+		Usuario usuario = Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build();
+		return entityManager.persist(usuario);
+	}
+	
 	private Lancamento criarESalvarLancamento() {
 		Lancamento lancamento = criarLancamento();
 		entityManager.persist(lancamento);
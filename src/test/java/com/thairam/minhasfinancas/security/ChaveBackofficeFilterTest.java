@@ -0,0 +1,80 @@
+package com.thairam.minhasfinancas.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ChaveBackofficeFilterTest {
+
+	@Test
+	public void deveLiberarRotaDeBackofficeComAChaveConfigurada() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = filtrar(new ChaveBackofficeFilter("chave"), "/api/backoffice/saldos", 
+				"Bearer chave", chain);
+
+		assertEquals(response.getStatus(), 200);
+		assertNotNull(chain.getRequest());
+	}
+
+	@Test
+	public void deveRecusarRotaDeBackofficeComOutroToken() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = filtrar(new ChaveBackofficeFilter("chave"), "/api/backoffice/saldos", 
+				"Bearer token-de-usuario", chain);
+
+		assertEquals(response.getStatus(), 401);
+		assertNull(chain.getRequest());
+	}
+
+	@Test
+	public void deveRecusarRotaDeBackofficeSemChaveConfigurada() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = filtrar(new ChaveBackofficeFilter(""), "/api/backoffice/saldos", 
+				"Bearer ", chain);
+
+		assertEquals(response.getStatus(), 401);
+		assertNull(chain.getRequest());
+	}
+
+	@Test
+	public void deveExigirAChaveNoActuatorExcetoNoHealth() throws Exception {
+		ChaveBackofficeFilter filtro = new ChaveBackofficeFilter("chave");
+		MockFilterChain health = new MockFilterChain();
+		MockFilterChain prometheus = new MockFilterChain();
+		MockFilterChain caches = new MockFilterChain();
+
+		filtrar(filtro, "/actuator/health", null, health);
+		MockHttpServletResponse semChave = filtrar(filtro, "/actuator/prometheus", null, prometheus);
+		filtrar(filtro, "/actuator/caches", "Bearer chave", caches);
+
+		assertNotNull(health.getRequest());
+		assertEquals(semChave.getStatus(), 401);
+		assertNull(prometheus.getRequest());
+		assertNotNull(caches.getRequest());
+	}
+
+	@Test
+	public void naoDeveFiltrarOutrasRotas() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		filtrar(new ChaveBackofficeFilter("chave"), "/api/usuarios/1/saldo", null, chain);
+
+		assertNotNull(chain.getRequest());
+	}
+
+	private static MockHttpServletResponse filtrar(ChaveBackofficeFilter filtro, String caminho, String autorizacao,
+			MockFilterChain chain) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", caminho);
+		if(autorizacao != null) {
+			request.addHeader(HttpHeaders.AUTHORIZATION, autorizacao);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filtro.doFilter(request, response, chain);
+		return response;
+	}
+}
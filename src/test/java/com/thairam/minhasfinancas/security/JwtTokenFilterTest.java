@@ -0,0 +1,44 @@
+package com.thairam.minhasfinancas.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.thairam.minhasfinancas.service.JwtService;
+import com.thairam.minhasfinancas.service.impl.JwtServiceImpl;
+
+public class JwtTokenFilterTest {
+
+	JwtService jwtService = new JwtServiceImpl("", 60, true);
+	JwtTokenFilter filtro = new JwtTokenFilter(jwtService);
+
+	@Test
+	public void deveAceitarOTicketNoStreamDeEventos() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/usuarios/1/eventos");
+		request.setParameter("ticket", jwtService.gerarTicketEventos(new UsuarioAutenticado(1L, "usuario")));
+
+		filtro.doFilter(request, new MockHttpServletResponse(), chain);
+
+		assertNotNull(chain.getRequest());
+		assertEquals(((UsuarioAutenticado) request.getAttribute(JwtTokenFilter.ATRIBUTO_USUARIO)).getId(), 1L);
+	}
+
+	@Test
+	public void naoDeveAceitarOTicketForaDoStreamDeEventos() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/usuarios/1/saldo");
+		request.setParameter("ticket", jwtService.gerarTicketEventos(new UsuarioAutenticado(1L, "usuario")));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filtro.doFilter(request, response, chain);
+
+		assertEquals(response.getStatus(), 401);
+		assertNull(chain.getRequest());
+	}
+}
@@ -0,0 +1,61 @@
+package com.thairam.minhasfinancas.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.thairam.minhasfinancas.exceptions.ErroAutenticacao;
+
+public class LimitadorTentativasAutenticacaoTest {
+
+	@Test
+	public void naoDeveReservarMaisTentativasQueOLimiteEmRequisicoesConcorrentes() throws Exception {
+		LimitadorTentativasAutenticacao limitador = new LimitadorTentativasAutenticacao(5, 15);
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch largada = new CountDownLatch(1);
+		try {
+			List<Future<Boolean>> tentativas = new ArrayList<>();
+			for(int i = 0; i < 50; i++) {
+				tentativas.add(executor.submit(() -> {
+					largada.await();
+					try {
+						limitador.reservarTentativa("usuario@email.com");
+						return true;
+					} catch (ErroAutenticacao e) {
+						return false;
+					}
+				}));
+			}
+			largada.countDown();
+			
+			int reservadas = 0;
+			for(Future<Boolean> tentativa : tentativas) {
+				reservadas += tentativa.get() ? 1 : 0;
+			}
+			assertEquals(reservadas, 5);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void deveLiberarAsTentativasAposAutenticacaoBemSucedida() {
+		LimitadorTentativasAutenticacao limitador = new LimitadorTentativasAutenticacao(2, 15);
+		limitador.reservarTentativa("usuario@email.com");
+		limitador.reservarTentativa("USUARIO@email.com");
+		Throwable excedida = Assertions.catchThrowable( () -> limitador.reservarTentativa("usuario@email.com") );
+		
+		limitador.registrarSucesso("usuario@email.com");
+		
+		Assertions.assertThat(excedida).isInstanceOf(ErroAutenticacao.class);
+		Assertions.assertThatCode( () -> limitador.reservarTentativa("usuario@email.com") ).doesNotThrowAnyException();
+	}
+}
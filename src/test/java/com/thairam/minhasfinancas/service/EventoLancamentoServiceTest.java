@@ -0,0 +1,138 @@
+package com.thairam.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.thairam.minhasfinancas.exceptions.CursorExpiradoException;
+import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
+import com.thairam.minhasfinancas.model.entity.EventoLancamento;
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.PublicacaoEventoLancamento;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.model.enums.OperacaoLancamento;
+import com.thairam.minhasfinancas.model.repository.EventoLancamentoRepository;
+import com.thairam.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.thairam.minhasfinancas.model.repository.PublicacaoEventoLancamentoRepository;
+import com.thairam.minhasfinancas.service.impl.EventoLancamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class EventoLancamentoServiceTest {
+
+	@SpyBean
+	EventoLancamentoServiceImpl eventoLancamentoService;
+	
+	@MockBean
+	EventoLancamentoRepository eventoLancamentoRepository;
+	
+	@MockBean
+	PublicacaoEventoLancamentoRepository publicacaoRepository;
+	
+	@MockBean
+	PublicadorEventosLancamento publicador;
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deveRegistrarUmEventoPorOperacao() {
+		Lancamento incluido = criarLancamento(1L);
+		Lancamento alterado = criarLancamento(2L);
+		Lancamento excluido = criarLancamento(3L);
+		
+		eventoLancamentoService.registrarAlteracoes(Arrays.asList(null, alterado, excluido),
+				Arrays.asList(incluido, alterado, null));
+		
+		ArgumentCaptor<List<EventoLancamento>> eventos = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(eventoLancamentoRepository).saveAll(eventos.capture());
+		assertEquals(eventos.getValue().get(0).getOperacao(), OperacaoLancamento.INCLUSAO);
+		assertEquals(eventos.getValue().get(1).getOperacao(), OperacaoLancamento.ALTERACAO);
+		assertEquals(eventos.getValue().get(2).getOperacao(), OperacaoLancamento.EXCLUSAO);
+		assertEquals(eventos.getValue().get(2).getIdLancamento(), 3L);
+		assertEquals(eventos.getValue().get(2).getValor(), null);
+	}
+	
+	@Test
+	public void devePublicarOsEventosAPartirDaUltimaPosicao() {
+		PublicacaoEventoLancamento publicacao = new PublicacaoEventoLancamento(PublicacaoEventoLancamento.ID, 10L, 0L);
+		List<EventoLancamento> eventos = Arrays.asList(new EventoLancamento(), new EventoLancamento());
+		Mockito.when(publicacaoRepository.obterParaAtualizacao(PublicacaoEventoLancamento.ID)).thenReturn(Optional.of(publicacao));
+		Mockito.when(eventoLancamentoRepository.obterNaoPublicados(Mockito.any())).thenReturn(eventos);
+		
+		int publicados = eventoLancamentoService.publicarLote(500);
+		
+		assertEquals(publicados, 2);
+		assertEquals(eventos.get(0).getPosicao(), 11L);
+		assertEquals(eventos.get(1).getPosicao(), 12L);
+		assertEquals(publicacao.getUltimaPosicao(), 12L);
+		Mockito.verify(publicador).publicar(eventos);
+	}
+	
+	@Test
+	public void naoDeveBuscarAlteracoesComCursorInvalido() {
+		Throwable exception = Assertions.catchThrowable( () -> eventoLancamentoService.buscarAlteracoes(1L, -1L, 100));
+		
+		Assertions.assertThat(exception)
+			.isInstanceOf(RegraNegocioException.class)
+			.hasMessage(LancamentoExceptionMessages.CURSOR_INVALIDO);
+		Mockito.verifyNoInteractions(eventoLancamentoRepository);
+	}
+	
+	@Test
+	public void naoDeveBuscarAlteracoesComCursorAnteriorAosEventosRemovidos() {
+		Mockito.when(publicacaoRepository.findById(PublicacaoEventoLancamento.ID))
+			.thenReturn(Optional.of(new PublicacaoEventoLancamento(PublicacaoEventoLancamento.ID, 40L, 20L)));
+		
+		Throwable exception = Assertions.catchThrowable( () -> eventoLancamentoService.buscarAlteracoes(1L, 10L, 100));
+		
+		Assertions.assertThat(exception)
+			.isInstanceOf(CursorExpiradoException.class)
+			.hasMessage(LancamentoExceptionMessages.CURSOR_EXPIRADO);
+		assertEquals(((CursorExpiradoException) exception).getPosicaoAtual(), 40L);
+	}
+	
+	@Test
+	public void deveBuscarAlteracoesComCursorNaUltimaPosicaoRemovida() {
+		List<EventoLancamento> eventos = Arrays.asList(new EventoLancamento());
+		Mockito.when(publicacaoRepository.findById(PublicacaoEventoLancamento.ID))
+			.thenReturn(Optional.of(new PublicacaoEventoLancamento(PublicacaoEventoLancamento.ID, 40L, 20L)));
+		Mockito.when(eventoLancamentoRepository.obterPublicadosApos(Mockito.eq(1L), Mockito.eq(20L), Mockito.any()))
+			.thenReturn(eventos);
+		
+		assertEquals(eventoLancamentoService.buscarAlteracoes(1L, 20L, 100), eventos);
+	}
+	
+	@Test
+	public void deveRegistrarAUltimaPosicaoRemovidaNaLimpeza() {
+		LocalDateTime limite = LocalDateTime.now();
+		PublicacaoEventoLancamento publicacao = new PublicacaoEventoLancamento(PublicacaoEventoLancamento.ID, 40L, 20L);
+		Mockito.when(publicacaoRepository.obterParaAtualizacao(PublicacaoEventoLancamento.ID)).thenReturn(Optional.of(publicacao));
+		Mockito.when(eventoLancamentoRepository.obterUltimaPosicaoPublicadaAntesDe(limite)).thenReturn(30L);
+		Mockito.when(eventoLancamentoRepository.removerPublicadosAntesDe(limite)).thenReturn(10);
+		
+		int removidos = eventoLancamentoService.removerPublicadosAntesDe(limite);
+		
+		assertEquals(removidos, 10);
+		assertEquals(publicacao.getUltimaPosicaoRemovida(), 30L);
+	}
+	
+	private Lancamento criarLancamento(Long id) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(id);
+		lancamento.setUsuario(Usuario.builder().id(1L).build());
+		return lancamento;
+	}
+}
@@ -0,0 +1,66 @@
+package com.thairam.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.security.UsuarioAutenticado;
+import com.thairam.minhasfinancas.service.impl.JwtServiceImpl;
+
+public class JwtServiceTest {
+
+	JwtService jwtService = new JwtServiceImpl("", 60, true);
+	
+	@Test
+	public void deveGerarUmTokenComIdENomeDoUsuario() {
+		Usuario usuario = Usuario.builder().id(1L).nome("thairam").build();
+		
+		Optional<UsuarioAutenticado> usuarioAutenticado = jwtService.validarToken(jwtService.gerarToken(usuario));
+		
+		assertTrue(usuarioAutenticado.isPresent());
+		assertEquals(usuarioAutenticado.get().getId(), 1L);
+		assertEquals(usuarioAutenticado.get().getNome(), "thairam");
+	}
+	
+	@Test
+	public void naoDeveAceitarTokenAssinadoComOutraChave() {
+		String token = new JwtServiceImpl("", 60, true).gerarToken(Usuario.builder().id(1L).nome("thairam").build());
+		
+		assertTrue(!jwtService.validarToken(token).isPresent());
+	}
+	
+	@Test
+	public void naoDeveAceitarTokenExpirado() {
+		JwtService jwtServiceExpirado = new JwtServiceImpl("", -1, true);
+		String token = jwtServiceExpirado.gerarToken(Usuario.builder().id(1L).nome("thairam").build());
+		
+		assertTrue(!jwtServiceExpirado.validarToken(token).isPresent());
+	}
+	
+	@Test
+	public void naoDeveIniciarSemChaveQuandoAChaveLocalNaoForPermitida() {
+		assertThrows(IllegalStateException.class, () -> new JwtServiceImpl("", 60, false));
+	}
+	
+	@Test
+	public void deveAceitarOTicketDeEventosApenasComoTicket() {
+		Usuario usuario = Usuario.builder().id(1L).nome("thairam").build();
+		String token = jwtService.gerarToken(usuario);
+		String ticket = jwtService.gerarTicketEventos(new UsuarioAutenticado(1L, "thairam"));
+		
+		assertEquals(jwtService.validarTicketEventos(ticket).get().getId(), 1L);
+		assertTrue(!jwtService.validarToken(ticket).isPresent());
+		assertTrue(!jwtService.validarTicketEventos(token).isPresent());
+	}
+	
+	@Test
+	public void naoDeveAceitarTokenMalFormado() {
+		assertTrue(!jwtService.validarToken("token.invalido").isPresent());
+		assertTrue(!jwtService.validarToken(null).isPresent());
+	}
+}
@@ -0,0 +1,115 @@
+package com.thairam.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.LancamentoRecorrente;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.model.enums.FrequenciaRecorrencia;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.repository.LancamentoRecorrenteRepository;
+import com.thairam.minhasfinancas.service.impl.LancamentoRecorrenteServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class LancamentoRecorrenteServiceTest {
+
+	@SpyBean
+	LancamentoRecorrenteServiceImpl recorrenteService;
+
+	@MockBean
+	LancamentoRecorrenteRepository recorrenteRepository;
+
+	@MockBean
+	LancamentoService lancamentoService;
+
+	@Test
+	public void deveGerarAsParcelasAteAQuantidadeInformada() {
+		YearMonth inicio = YearMonth.now().minusMonths(2);
+		LancamentoRecorrente recorrente = criarRecorrente(inicio, 4);
+		when(recorrenteRepository.save(recorrente)).thenReturn(recorrente);
+
+		recorrenteService.salvar(recorrente);
+
+		List<Lancamento> parcelas = parcelasImportadas();
+		assertEquals(parcelas.size(), 4);
+		assertEquals(parcelas.get(0).getDescricao(), "Notebook (1/4)");
+		assertEquals(parcelas.get(0).getMes(), Integer.valueOf(inicio.getMonthValue()));
+		assertEquals(parcelas.get(3).getParcela(), Integer.valueOf(4));
+		assertEquals(parcelas.get(3).getIdRecorrencia(), recorrente.getId());
+		assertNull(recorrente.getProximaCompetencia());
+	}
+
+	@Test
+	public void deveGerarAsParcelasPendentesApenasAteOsMesesDeAntecedencia() {
+		YearMonth inicio = YearMonth.now();
+		LancamentoRecorrente recorrente = criarRecorrente(inicio, null);
+		recorrente.setProximaParcela(1);
+		recorrente.setProximaCompetencia(recorrente.competenciaDaParcela(1));
+		when(recorrenteRepository.reservarPendentes(Mockito.anyInt(), Mockito.any(Pageable.class)))
+			.thenReturn(Arrays.asList(recorrente));
+
+		int processadas = recorrenteService.gerarParcelasPendentes(500);
+
+		assertEquals(processadas, 1);
+		assertEquals(parcelasImportadas().size(), 4);
+		assertEquals(recorrente.getProximaParcela(), Integer.valueOf(5));
+		YearMonth proxima = inicio.plusMonths(4);
+		assertEquals(recorrente.getProximaCompetencia(),
+				Integer.valueOf(LancamentoRecorrente.competencia(proxima.getYear(), proxima.getMonthValue())));
+	}
+
+	@Test
+	public void naoDeveSalvarRecorrenciaQueTerminaAntesDeComecar() {
+		LancamentoRecorrente recorrente = criarRecorrente(YearMonth.of(2020, 5), null);
+		recorrente.setAnoFinal(2020);
+		recorrente.setMesFinal(4);
+
+		Throwable exception = Assertions.catchThrowable(() -> recorrenteService.salvar(recorrente));
+
+		Assertions.assertThat(exception).isInstanceOf(RegraNegocioException.class)
+			.hasMessage(LancamentoExceptionMessages.PERIODO_RECORRENCIA_INVALIDO);
+		Mockito.verify(recorrenteRepository, Mockito.never()).save(recorrente);
+	}
+
+	private List<Lancamento> parcelasImportadas() {
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Lancamento>> parcelas = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(lancamentoService).importar(parcelas.capture());
+		return parcelas.getValue();
+	}
+
+	private static LancamentoRecorrente criarRecorrente(YearMonth inicio, Integer quantidadeParcelas) {
+		return LancamentoRecorrente.builder()
+				.id(1L)
+				.descricao("Notebook")
+				.valor(BigDecimal.valueOf(250))
+				.tipo(TipoLancamento.DESPESA)
+				.frequencia(FrequenciaRecorrencia.MENSAL)
+				.usuario(Usuario.builder().id(1L).build())
+				.mesInicial(inicio.getMonthValue())
+				.anoInicial(inicio.getYear())
+				.quantidadeParcelas(quantidadeParcelas)
+				.build();
+	}
+}
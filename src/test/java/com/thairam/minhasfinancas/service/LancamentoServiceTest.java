@@ -4,25 +4,38 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
+import com.thairam.minhasfinancas.exceptions.VersaoDesatualizadaException;
 import com.thairam.minhasfinancas.messages.LancamentoExceptionMessages;
 import com.thairam.minhasfinancas.model.entity.Lancamento;
 import com.thairam.minhasfinancas.model.entity.Usuario;
 import com.thairam.minhasfinancas.model.enums.StatusLancamento;
 import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.filter.LancamentoFiltro;
+import com.thairam.minhasfinancas.model.projection.LancamentoResumo;
+import com.thairam.minhasfinancas.model.projection.ResultadoAtualizacaoLote;
+import com.thairam.minhasfinancas.model.projection.SaldoConsolidado;
 import com.thairam.minhasfinancas.model.repository.LancamentoRepository;
 import com.thairam.minhasfinancas.model.repository.LancamentoRepositoryTest;
 import com.thairam.minhasfinancas.service.impl.LancamentoServiceImpl;
@@ -37,6 +50,15 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository lancamentoRepository;
 	
+	@MockBean
+	SaldoService saldoService;
+	
+	@MockBean
+	EventoLancamentoService eventoLancamentoService;
+	
+	@Captor
+	ArgumentCaptor<Collection<Long>> lotes;
+	
 	@Test
 	public void deveSalvarUmLancamento() {
 		Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
@@ -48,6 +70,8 @@ public class LancamentoServiceTest {
 		Lancamento lancamento = lancamentoService.salvar(lancamentoASalvar);
 		assertEquals(lancamento.getId(), lancamentoSalvo.getId());
 		assertEquals(lancamento.getStatus(), StatusLancamento.PENDENTE);
+		Mockito.verify(saldoService).registrarAlteracao(null, lancamentoSalvo);
+		Mockito.verify(eventoLancamentoService).registrarAlteracao(null, lancamentoSalvo);
 	}
 	
 	@Test
@@ -58,6 +82,34 @@ public class LancamentoServiceTest {
     	Mockito.verify(lancamentoRepository, Mockito.never()).save(lancamentoASalvar);
 	}
 
+	@Test
+	public void deveImportarLancamentosMantendoOStatusInformado() {
+		Lancamento pendente = LancamentoRepositoryTest.criarLancamento();
+		pendente.setStatus(null);
+		Lancamento efetivado = LancamentoRepositoryTest.criarLancamento();
+		efetivado.setStatus(StatusLancamento.EFETIVADO);
+		List<Lancamento> lancamentos = java.util.Arrays.asList(pendente, efetivado);
+		Mockito.doNothing().when(lancamentoService).validar(Mockito.any(Lancamento.class));
+		Mockito.when(lancamentoRepository.inserirEmLote(lancamentos)).thenReturn(lancamentos);
+		
+		lancamentoService.importar(lancamentos);
+		
+		assertEquals(pendente.getStatus(), StatusLancamento.PENDENTE);
+		assertEquals(efetivado.getStatus(), StatusLancamento.EFETIVADO);
+		Mockito.verify(lancamentoRepository).inserirEmLote(lancamentos);
+		Mockito.verify(saldoService).registrarAlteracoes(null, lancamentos);
+	}
+	
+	@Test
+	public void naoDeveRevalidarOsLancamentosImportados() {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		List<Lancamento> lancamentos = java.util.Arrays.asList(lancamento);
+		Mockito.when(lancamentoRepository.inserirEmLote(lancamentos)).thenReturn(lancamentos);
+		lancamentoService.importar(lancamentos);
+		Mockito.verify(lancamentoService, Mockito.never()).validar(Mockito.any(Lancamento.class));
+		Mockito.verify(lancamentoRepository).inserirEmLote(lancamentos);
+	}
+	
 	@Test
 	public void deveAtualizarUmLancamento() {
 		Lancamento lancamentoSalvo = LancamentoRepositoryTest.criarLancamento();
@@ -69,6 +121,136 @@ public class LancamentoServiceTest {
 		Mockito.verify(lancamentoRepository, Mockito.times(1)).save(lancamentoSalvo);
 	}	
 	
+	@Test
+	public void deveAtualizarUmLancamentoQuandoAVersaoConfere() {
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1L);
+		persistido.setVersao(3L);
+		persistido.setStatus(StatusLancamento.EFETIVADO);
+		persistido.setUsuario(Usuario.builder().id(1L).build());
+		persistido.registrarEstadoPersistido();
+		Lancamento anterior = persistido.getEstadoPersistido();
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setUsuario(Usuario.builder().id(1L).build());
+		lancamento.setDescricao("nova descrição");
+		lancamento.setStatus(null);
+		Mockito.doNothing().when(lancamentoService).validar(lancamento);
+		when(lancamentoRepository.obterPorId(1L)).thenReturn(Optional.of(persistido));
+		
+		Optional<Lancamento> atualizado = lancamentoService.atualizarSeVersao(lancamento, 3L);
+		
+		assertEquals(atualizado.get(), persistido);
+		assertEquals(persistido.getDescricao(), "nova descrição");
+		assertEquals(persistido.getStatus(), StatusLancamento.EFETIVADO);
+		Mockito.verify(lancamentoRepository, Mockito.never()).save(Mockito.any(Lancamento.class));
+		Mockito.verify(lancamentoRepository).flush();
+		Mockito.verify(saldoService).registrarAlteracao(anterior, persistido);
+	}
+	
+	@Test
+	public void deveMoverOLancamentoDeAnoAntesDeAplicarAsAlteracoes() {
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1L);
+		persistido.setVersao(3L);
+		persistido.setUsuario(Usuario.builder().id(1L).build());
+		Lancamento movido = LancamentoRepositoryTest.criarLancamento();
+		movido.setId(1L);
+		movido.setAno(2020);
+		movido.setVersao(4L);
+		movido.setUsuario(Usuario.builder().id(1L).build());
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setAno(2020);
+		lancamento.setDescricao("nova descrição");
+		lancamento.setUsuario(Usuario.builder().id(1L).build());
+		Mockito.doNothing().when(lancamentoService).validar(lancamento);
+		when(lancamentoRepository.obterPorId(1L)).thenReturn(Optional.of(persistido));
+		when(lancamentoRepository.moverParaAno(persistido, 2020)).thenReturn(Optional.of(movido));
+		
+		Optional<Lancamento> atualizado = lancamentoService.atualizarSeVersao(lancamento, 3L);
+		
+		assertEquals(atualizado.get(), movido);
+		assertEquals(movido.getDescricao(), "nova descrição");
+		Mockito.verify(lancamentoRepository).flush();
+	}
+	
+	@Test
+	public void naoDeveMoverOLancamentoDeAnoQuandoAVersaoMudouNoBanco() {
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1L);
+		persistido.setVersao(3L);
+		persistido.setUsuario(Usuario.builder().id(1L).build());
+		Lancamento alteracoes = Lancamento.builder().id(1L).usuario(Usuario.builder().id(1L).build()).ano(2020).build();
+		when(lancamentoRepository.obterPorId(1L)).thenReturn(Optional.of(persistido));
+		when(lancamentoRepository.moverParaAno(persistido, 2020)).thenReturn(Optional.empty());
+		
+		Throwable exception = Assertions.catchThrowable(() -> lancamentoService.atualizarParcialmente(alteracoes, null));
+		
+		assertEquals(exception.getClass(), VersaoDesatualizadaException.class);
+		Mockito.verify(saldoService, Mockito.never()).registrarAlteracao(Mockito.any(), Mockito.any());
+	}
+	
+	@Test
+	public void naoDeveAtualizarUmLancamentoComVersaoDesatualizada() {
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1L);
+		persistido.setVersao(3L);
+		persistido.setUsuario(Usuario.builder().id(1L).build());
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setUsuario(Usuario.builder().id(1L).build());
+		Mockito.doNothing().when(lancamentoService).validar(lancamento);
+		when(lancamentoRepository.obterPorId(1L)).thenReturn(Optional.of(persistido));
+		Mockito.doThrow(new ObjectOptimisticLockingFailureException(Lancamento.class, 1L))
+			.when(lancamentoRepository).flush();
+		
+		Throwable esperada = Assertions.catchThrowable(() -> lancamentoService.atualizarSeVersao(lancamento, 2L));
+		Throwable concorrente = Assertions.catchThrowable(() -> lancamentoService.atualizarSeVersao(lancamento, null));
+		
+		assertEquals(esperada.getClass(), VersaoDesatualizadaException.class);
+		assertEquals(concorrente.getClass(), VersaoDesatualizadaException.class);
+		Mockito.verify(saldoService, Mockito.never()).registrarAlteracao(Mockito.any(), Mockito.any());
+	}
+	
+	@Test
+	public void deveAtualizarParcialmenteApenasOsCamposInformados() {
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1L);
+		persistido.setVersao(2L);
+		persistido.setUsuario(Usuario.builder().id(1L).build());
+		persistido.registrarEstadoPersistido();
+		Lancamento anterior = persistido.getEstadoPersistido();
+		Lancamento alteracoes = Lancamento.builder().id(1L).usuario(Usuario.builder().id(1L).build())
+				.valor(BigDecimal.valueOf(25)).build();
+		when(lancamentoRepository.obterPorId(1L)).thenReturn(Optional.of(persistido));
+		
+		Optional<Lancamento> atualizado = lancamentoService.atualizarParcialmente(alteracoes, 2L);
+		
+		assertEquals(atualizado.get().getValor(), BigDecimal.valueOf(25));
+		assertEquals(atualizado.get().getDescricao(), LancamentoRepositoryTest.criarLancamento().getDescricao());
+		Mockito.verify(lancamentoService, Mockito.never()).validar(Mockito.any(Lancamento.class));
+		Mockito.verify(lancamentoRepository).flush();
+		Mockito.verify(saldoService).registrarAlteracao(anterior, persistido);
+	}
+	
+	@Test
+	public void naoDeveAtualizarParcialmenteQuandoUmCampoInformadoForInvalido() {
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1L);
+		persistido.setUsuario(Usuario.builder().id(1L).build());
+		Lancamento alteracoes = Lancamento.builder().id(1L).usuario(Usuario.builder().id(1L).build())
+				.descricao("nova descrição").mes(13).build();
+		when(lancamentoRepository.obterPorId(1L)).thenReturn(Optional.of(persistido));
+		
+		Throwable exception = Assertions.catchThrowable(() -> lancamentoService.atualizarParcialmente(alteracoes, null));
+		
+		Assertions.assertThat(exception).isInstanceOf(RegraNegocioException.class)
+			.hasMessage(LancamentoExceptionMessages.MES_INVALIDO);
+		assertEquals(persistido.getDescricao(), LancamentoRepositoryTest.criarLancamento().getDescricao());
+		Mockito.verify(lancamentoRepository, Mockito.never()).flush();
+	}
+	
 	@Test
 	public void deveLancarErroAoTentarAtualizarUmLancamentoQueAindaNaoFoiSalvo() {
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
@@ -84,6 +266,23 @@ public class LancamentoServiceTest {
 		Mockito.verify(lancamentoRepository).delete(lancamento);
 	}
 
+	@Test
+	public void deveRegistrarNoSaldoOEstadoAnteriorAoAtualizarUmLancamento() {
+		Lancamento lancamentoPersistido = LancamentoRepositoryTest.criarLancamento();
+		lancamentoPersistido.setId(1L);
+		lancamentoPersistido.setStatus(StatusLancamento.EFETIVADO);
+		lancamentoPersistido.registrarEstadoPersistido();
+		Lancamento estadoAnterior = lancamentoPersistido.getEstadoPersistido();
+		
+		lancamentoPersistido.setStatus(StatusLancamento.CANCELADO);
+		Mockito.doNothing().when(lancamentoService).validar(lancamentoPersistido);
+		Mockito.when(lancamentoRepository.save(lancamentoPersistido)).thenReturn(lancamentoPersistido);
+		lancamentoService.atualizar(lancamentoPersistido);
+		
+		Mockito.verify(saldoService).registrarAlteracao(estadoAnterior, lancamentoPersistido);
+		assertEquals(estadoAnterior.getStatus(), StatusLancamento.EFETIVADO);
+	}
+	
 	@Test
 	public void naoDeveDeletarUmLancamentoQueAindaNaoFoiSalvo() {
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
@@ -93,11 +292,12 @@ public class LancamentoServiceTest {
 	
 	@Test
 	public void deveFiltarLancamentos() {
-		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
-		lancamento.setId(1L);
-		List<Lancamento> lista = java.util.Arrays.asList(lancamento);
-		when(lancamentoRepository.findAll(Mockito.any(Example.class)) ).thenReturn(lista);
-		List<Lancamento> resultado = lancamentoService.buscar(lancamento);
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(1L).descricao("descrição").build();
+		LancamentoResumo lancamento = new LancamentoResumo(1L, "descrição lançamento", 1, 2019, BigDecimal.TEN, 1L, 
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 0L);
+		List<LancamentoResumo> lista = java.util.Arrays.asList(lancamento);
+		when(lancamentoRepository.buscar(filtro)).thenReturn(lista);
+		List<LancamentoResumo> resultado = lancamentoService.buscar(filtro);
 		Assertions
 			.assertThat(resultado)
 			.isNotEmpty()
@@ -105,6 +305,25 @@ public class LancamentoServiceTest {
 			.contains(lancamento);
 	}
 	
+	@Test
+	public void deveIndicarProximaPaginaQuandoAPesquisaRetornarMaisQueOTamanhoSolicitado() {
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(1L).build();
+		List<LancamentoResumo> lista = java.util.Arrays.asList(
+				new LancamentoResumo(), new LancamentoResumo(), new LancamentoResumo());
+		when(lancamentoRepository.pesquisar(filtro, 3)).thenReturn(lista);
+		Slice<LancamentoResumo> resultado = lancamentoService.pesquisar(filtro, 2);
+		Assertions.assertThat(resultado.getContent()).hasSize(2);
+		Assertions.assertThat(resultado.hasNext()).isTrue();
+	}
+	
+	@Test
+	public void naoDevePesquisarComTamanhoDePaginaInvalido() {
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(1L).build();
+		Throwable erro = Assertions.catchThrowable( () -> lancamentoService.pesquisar(filtro, 0) );
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage(LancamentoExceptionMessages.TAMANHO_PAGINA_INVALIDO);
+		Mockito.verify(lancamentoRepository, Mockito.never()).pesquisar(Mockito.any(), Mockito.anyInt());
+	}
+	
 	@Test
 	public void deveAtualizarStatusDeUmLancamento() {
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
@@ -117,12 +336,110 @@ public class LancamentoServiceTest {
 		Mockito.verify(lancamentoService).atualizar(lancamento);
 	}
 	
+	@Test
+	public void deveAtualizarStatusEmLoteERegistrarNoSaldo() {
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(1L).ano(2019).mes(1).build();
+		LancamentoResumo lancamento = new LancamentoResumo(1L, "descricao", 1, 2019, BigDecimal.TEN, 1L, 
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 0L);
+		when(lancamentoRepository.bloquearParaAlteracaoDeStatus(filtro, StatusLancamento.EFETIVADO))
+			.thenReturn(java.util.Arrays.asList(lancamento));
+		
+		ResultadoAtualizacaoLote resultado = lancamentoService.atualizarStatusEmLote(filtro, null, StatusLancamento.EFETIVADO);
+		
+		assertEquals(resultado.getAtualizados(), 1);
+		Assertions.assertThat(resultado.getConflitos()).isEmpty();
+		Mockito.verify(lancamentoRepository).atualizarStatus(java.util.Arrays.asList(lancamento), StatusLancamento.EFETIVADO);
+		Mockito.verify(saldoService).registrarAlteracoes(
+				Mockito.argThat(anteriores -> anteriores.get(0).getStatus() == StatusLancamento.PENDENTE),
+				Mockito.argThat(atuais -> atuais.get(0).getStatus() == StatusLancamento.EFETIVADO));
+	}
+	
+	@Test
+	public void naoDeveAtualizarEmLoteLancamentosComVersaoDivergente() {
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(1L).ids(java.util.Arrays.asList(1L, 2L)).build();
+		LancamentoResumo atualizado = new LancamentoResumo(1L, "descricao", 1, 2019, BigDecimal.TEN, 1L, 
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 3L);
+		LancamentoResumo divergente = new LancamentoResumo(2L, "descricao", 1, 2019, BigDecimal.TEN, 1L, 
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 5L);
+		when(lancamentoRepository.bloquearParaAlteracaoDeStatus(filtro, StatusLancamento.EFETIVADO))
+			.thenReturn(java.util.Arrays.asList(atualizado, divergente));
+		Map<Long, Long> versoes = new HashMap<>();
+		versoes.put(1L, 3L);
+		versoes.put(2L, 4L);
+		
+		ResultadoAtualizacaoLote resultado = lancamentoService.atualizarStatusEmLote(filtro, versoes, StatusLancamento.EFETIVADO);
+		
+		assertEquals(resultado.getAtualizados(), 1);
+		Assertions.assertThat(resultado.getConflitos()).containsExactly(2L);
+		Mockito.verify(lancamentoRepository).atualizarStatus(java.util.Arrays.asList(atualizado), StatusLancamento.EFETIVADO);
+	}
+	
+	@Test
+	public void naoDeveAtualizarStatusEmLoteSemUsuario() {
+		LancamentoFiltro filtro = LancamentoFiltro.builder().ids(java.util.Arrays.asList(1L)).build();
+		Throwable erro = Assertions.catchThrowable( () -> lancamentoService.atualizarStatusEmLote(filtro, null, StatusLancamento.EFETIVADO) );
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage(LancamentoExceptionMessages.FILTRO_LOTE_INVALIDO);
+		Mockito.verify(lancamentoRepository, Mockito.never()).bloquearParaAlteracaoDeStatus(Mockito.any(), Mockito.any());
+	}
+	
+	@Test
+	public void naoDeveAtualizarStatusEmLoteComIdsAcimaDoLimite() {
+		List<Long> ids = LongStream.rangeClosed(1, 10_001).boxed().collect(Collectors.toList());
+		LancamentoFiltro filtro = LancamentoFiltro.builder().usuario(1L).ids(ids).build();
+		Throwable erro = Assertions.catchThrowable( () -> lancamentoService.atualizarStatusEmLote(filtro, null, StatusLancamento.EFETIVADO) );
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage(LancamentoExceptionMessages.IDS_LOTE_EXCEDE_LIMITE);
+		Mockito.verify(lancamentoRepository, Mockito.never()).bloquearParaAlteracaoDeStatus(Mockito.any(), Mockito.any());
+	}
+	
+	@Test
+	public void deveObterSaldosDeUsuariosInformadosEmLotes() {
+		List<Long> ids = new java.util.ArrayList<>();
+		for(long id = 2500; id >= 1; id--) {
+			ids.add(id);
+		}
+		when(lancamentoRepository.obterSaldosConsolidados(Mockito.anyCollection(), Mockito.any(), Mockito.any(), 
+				Mockito.any(), Mockito.any())).thenReturn(java.util.Arrays.asList(saldoConsolidado(1L)));
+		List<SaldoConsolidado> saldos = new java.util.ArrayList<>();
+		
+		lancamentoService.obterSaldosConsolidados(ids, saldos::add);
+		
+		Mockito.verify(lancamentoRepository, Mockito.times(3)).obterSaldosConsolidados(lotes.capture(), 
+				Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+		assertEquals(lotes.getAllValues().get(0).size(), 1000);
+		assertEquals(lotes.getAllValues().get(0).iterator().next(), 1L);
+		assertEquals(lotes.getAllValues().get(2).size(), 500);
+		assertEquals(saldos.size(), 3);
+	}
+	
+	@Test
+	public void devePaginarOsSaldosDeTodosOsUsuariosPeloUltimoId() {
+		List<SaldoConsolidado> paginaCheia = new java.util.ArrayList<>();
+		for(long id = 1; id <= 1000; id++) {
+			paginaCheia.add(saldoConsolidado(id));
+		}
+		when(lancamentoRepository.obterSaldosConsolidadosAposUsuario(Mockito.eq(0L), Mockito.any(), Mockito.any(), 
+				Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(paginaCheia);
+		when(lancamentoRepository.obterSaldosConsolidadosAposUsuario(Mockito.eq(1000L), Mockito.any(), Mockito.any(), 
+				Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(java.util.Arrays.asList(saldoConsolidado(1001L)));
+		List<SaldoConsolidado> saldos = new java.util.ArrayList<>();
+		
+		lancamentoService.obterSaldosConsolidados(null, saldos::add);
+		
+		assertEquals(saldos.size(), 1001);
+		Mockito.verify(lancamentoRepository, Mockito.times(2)).obterSaldosConsolidadosAposUsuario(Mockito.anyLong(), 
+				Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+	}
+	
+	private static SaldoConsolidado saldoConsolidado(Long idUsuario) {
+		return new SaldoConsolidado(idUsuario, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO);
+	}
+	
 	@Test
 	public void deveObterUmLancamentoPorId() {
 		Long id = 1L;
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
 		lancamento.setId(id);
-		Mockito.when(lancamentoRepository.findById(id)).thenReturn(Optional.of(lancamento));
+		Mockito.when(lancamentoRepository.obterPorId(id)).thenReturn(Optional.of(lancamento));
 		Optional<Lancamento> resultado = lancamentoService.obterLancamentoPorId(id);
 		assertEquals(resultado.isPresent(), true);
 	}
@@ -132,7 +449,7 @@ public class LancamentoServiceTest {
 		Long id = 1L;
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
 		lancamento.setId(id);
-		Mockito.when(lancamentoRepository.findById(id)).thenReturn(Optional.empty());
+		Mockito.when(lancamentoRepository.obterPorId(id)).thenReturn(Optional.empty());
 		Optional<Lancamento> resultado = lancamentoService.obterLancamentoPorId(id);
 		assertEquals(resultado.isPresent(), false);
 	}
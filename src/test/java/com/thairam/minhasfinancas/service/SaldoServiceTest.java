@@ -0,0 +1,195 @@
+package com.thairam.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.thairam.minhasfinancas.model.entity.FechamentoMensal;
+import com.thairam.minhasfinancas.model.entity.Lancamento;
+import com.thairam.minhasfinancas.model.entity.LancamentoRecorrente;
+import com.thairam.minhasfinancas.model.entity.SaldoUsuario;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.model.enums.StatusLancamento;
+import com.thairam.minhasfinancas.model.enums.TipoLancamento;
+import com.thairam.minhasfinancas.model.projection.ResumoMensal;
+import com.thairam.minhasfinancas.model.projection.SaldoMensal;
+import com.thairam.minhasfinancas.model.repository.FechamentoMensalRepository;
+import com.thairam.minhasfinancas.model.repository.LancamentoRepository;
+import com.thairam.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.thairam.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.thairam.minhasfinancas.service.impl.SaldoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SaldoServiceTest {
+
+	@SpyBean
+	SaldoServiceImpl saldoService;
+	
+	@MockBean
+	SaldoUsuarioRepository saldoUsuarioRepository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@MockBean
+	FechamentoMensalRepository fechamentoMensalRepository;
+	
+	@Test
+	public void deveAdicionarAoSaldoUmLancamentoEfetivado() {
+		Lancamento lancamento = criarLancamento(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		Mockito.when(saldoUsuarioRepository.adicionarMovimento(1L, BigDecimal.valueOf(10), BigDecimal.ZERO)).thenReturn(1);
+		saldoService.registrarAlteracao(null, lancamento);
+		Mockito.verify(saldoUsuarioRepository).adicionarMovimento(1L, BigDecimal.valueOf(10), BigDecimal.ZERO);
+		Mockito.verify(saldoUsuarioRepository, Mockito.never()).save(Mockito.any());
+	}
+	
+	@Test
+	public void deveEstornarDoSaldoUmLancamentoQueDeixouDeSerEfetivado() {
+		Lancamento anterior = criarLancamento(TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+		Lancamento atual = criarLancamento(TipoLancamento.DESPESA, StatusLancamento.CANCELADO);
+		Mockito.when(saldoUsuarioRepository.adicionarMovimento(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		saldoService.registrarAlteracao(anterior, atual);
+		Mockito.verify(saldoUsuarioRepository).adicionarMovimento(1L, BigDecimal.ZERO, BigDecimal.valueOf(10).negate());
+	}
+	
+	@Test
+	public void naoDeveAlterarOSaldoQuandoNenhumEstadoEstaEfetivado() {
+		Lancamento anterior = criarLancamento(TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+		Lancamento atual = criarLancamento(TipoLancamento.RECEITA, StatusLancamento.CANCELADO);
+		saldoService.registrarAlteracao(anterior, atual);
+		Mockito.verifyNoInteractions(saldoUsuarioRepository);
+	}
+	
+	@Test
+	public void deveRecalcularOSaldoQuandoAindaNaoFoiMaterializado() {
+		Lancamento lancamento = criarLancamento(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		Mockito.when(saldoUsuarioRepository.adicionarMovimento(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(0);
+		Mockito.when(lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus(1L, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO))
+			.thenReturn(BigDecimal.valueOf(100));
+		saldoService.registrarAlteracao(null, lancamento);
+		Mockito.verify(saldoUsuarioRepository).bloquearUsuario(1L);
+		Mockito.verify(saldoUsuarioRepository).save(SaldoUsuario.builder()
+				.idUsuario(1L)
+				.receitas(BigDecimal.valueOf(100))
+				.despesas(BigDecimal.ZERO)
+				.build());
+	}
+	
+	@Test
+	public void deveSomarAoSaldoCriadoPorOutraTransacaoEnquantoAguardavaOBloqueio() {
+		Lancamento lancamento = criarLancamento(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		Mockito.when(saldoUsuarioRepository.adicionarMovimento(Mockito.anyLong(), Mockito.any(), Mockito.any()))
+			.thenReturn(0, 1);
+		saldoService.registrarAlteracao(null, lancamento);
+		Mockito.verify(saldoUsuarioRepository).bloquearUsuario(1L);
+		Mockito.verify(saldoUsuarioRepository, Mockito.times(2)).adicionarMovimento(1L, BigDecimal.valueOf(10), BigDecimal.ZERO);
+		Mockito.verify(saldoUsuarioRepository, Mockito.never()).save(Mockito.any());
+	}
+	
+	@Test
+	public void deveObterOSaldoMaterializado() {
+		SaldoUsuario saldo = SaldoUsuario.builder()
+				.idUsuario(1L)
+				.receitas(BigDecimal.valueOf(100))
+				.despesas(BigDecimal.valueOf(40))
+				.build();
+		Mockito.when(saldoUsuarioRepository.findById(1L)).thenReturn(Optional.of(saldo));
+		BigDecimal resultado = saldoService.obterSaldo(1L);
+		assertEquals(resultado, BigDecimal.valueOf(60));
+		Mockito.verifyNoInteractions(lancamentoRepository);
+	}
+	
+	@Test
+	public void deveAjustarOsFechamentosAPartirDoMesAlterado() {
+		Lancamento anterior = criarLancamento(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		Lancamento atual = criarLancamento(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		atual.setMes(3);
+		atual.setValor(BigDecimal.valueOf(15));
+		Mockito.when(saldoUsuarioRepository.adicionarMovimento(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		saldoService.registrarAlteracao(anterior, atual);
+		
+		int janeiro = LancamentoRecorrente.competencia(2019, 1);
+		int marco = LancamentoRecorrente.competencia(2019, 3);
+		Mockito.verify(fechamentoMensalRepository)
+			.adicionarMovimento(1L, janeiro, marco - 1, BigDecimal.valueOf(10).negate(), BigDecimal.ZERO);
+		Mockito.verify(fechamentoMensalRepository)
+			.adicionarMovimento(1L, marco, Integer.MAX_VALUE, BigDecimal.valueOf(5), BigDecimal.ZERO);
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deveFecharOsMesesAcumulandoAPartirDoUltimoFechamento() {
+		SaldoUsuario saldo = SaldoUsuario.builder().idUsuario(1L).build();
+		Mockito.when(saldoUsuarioRepository.findByIdUsuarioGreaterThanOrderByIdUsuario(Mockito.eq(0L), Mockito.any()))
+			.thenReturn(Collections.singletonList(saldo));
+		Mockito.when(saldoUsuarioRepository.obterParaAtualizacao(1L)).thenReturn(Optional.of(saldo));
+		Mockito.when(fechamentoMensalRepository.findFirstByIdUsuarioOrderByCompetenciaDesc(1L))
+			.thenReturn(Optional.of(criarFechamento(2020, 1, 100, 40)));
+		Mockito.when(lancamentoRepository.obterResumoMensal(Mockito.eq(1L), Mockito.eq(2020), Mockito.eq(2020),
+				Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(Arrays.asList(new ResumoMensal(2020, 2, BigDecimal.valueOf(10), BigDecimal.valueOf(5))));
+		
+		Long ultimoUsuario = saldoService.fecharMesesLote(0L, 500, YearMonth.of(2020, 3));
+		
+		assertEquals(ultimoUsuario, 1L);
+		ArgumentCaptor<List<FechamentoMensal>> fechamentos = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(fechamentoMensalRepository).saveAll(fechamentos.capture());
+		assertEquals(fechamentos.getValue().size(), 2);
+		assertEquals(fechamentos.getValue().get(0).getMes(), 2);
+		assertEquals(fechamentos.getValue().get(0).getSaldo(), BigDecimal.valueOf(65));
+		assertEquals(fechamentos.getValue().get(1).getMes(), 3);
+		assertEquals(fechamentos.getValue().get(1).getSaldo(), BigDecimal.valueOf(65));
+	}
+	
+	@Test
+	public void deveObterOSaldoDoMesPeloFechamentoESomarOsMesesAbertos() {
+		Mockito.when(fechamentoMensalRepository.findFirstByIdUsuarioAndCompetenciaLessThanEqualOrderByCompetenciaDesc(
+				1L, LancamentoRecorrente.competencia(2020, 4)))
+			.thenReturn(Optional.of(criarFechamento(2020, 2, 110, 45)));
+		Mockito.when(lancamentoRepository.obterResumoMensal(Mockito.eq(1L), Mockito.eq(2020), Mockito.eq(2020),
+				Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(Arrays.asList(
+					new ResumoMensal(2020, 1, BigDecimal.valueOf(1000), BigDecimal.ZERO),
+					new ResumoMensal(2020, 4, BigDecimal.valueOf(5), BigDecimal.ZERO)));
+		
+		SaldoMensal saldo = saldoService.obterSaldoEm(1L, 2020, 4);
+		
+		assertEquals(saldo.getReceitas(), BigDecimal.valueOf(115));
+		assertEquals(saldo.getDespesas(), BigDecimal.valueOf(45));
+	}
+	
+	private FechamentoMensal criarFechamento(int ano, int mes, long receitas, long despesas) {
+		return FechamentoMensal.builder()
+				.idUsuario(1L)
+				.competencia(LancamentoRecorrente.competencia(ano, mes))
+				.ano(ano)
+				.mes(mes)
+				.receitas(BigDecimal.valueOf(receitas))
+				.despesas(BigDecimal.valueOf(despesas))
+				.build();
+	}
+	
+	private Lancamento criarLancamento(TipoLancamento tipo, StatusLancamento status) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(1L).build());
+		lancamento.setTipo(tipo);
+		lancamento.setStatus(status);
+		return lancamento;
+	}
+}
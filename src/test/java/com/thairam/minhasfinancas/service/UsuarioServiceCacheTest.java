@@ -0,0 +1,77 @@
+package com.thairam.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.thairam.minhasfinancas.config.CacheConfiguration;
+import com.thairam.minhasfinancas.model.entity.Usuario;
+import com.thairam.minhasfinancas.model.repository.UsuarioRepository;
+import com.thairam.minhasfinancas.security.LimitadorTentativasAutenticacao;
+import com.thairam.minhasfinancas.service.impl.SenhaServiceImpl;
+import com.thairam.minhasfinancas.service.impl.UsuarioServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@ContextConfiguration(classes = { UsuarioServiceImpl.class, SenhaServiceImpl.class, 
+		LimitadorTentativasAutenticacao.class, CacheConfiguration.class })
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@TestPropertySource(properties = {
+		"spring.cache.type=caffeine",
+		"spring.cache.cache-names=usuarios,usuariosPorEmail"
+})
+public class UsuarioServiceCacheTest {
+
+	@Autowired
+	UsuarioService usuarioService;
+	
+	@MockBean
+	UsuarioRepository usuarioRepository;
+	
+	@Test
+	public void deveBuscarUsuarioPorIdApenasUmaVezNoRepositorio() {
+		Usuario usuario = Usuario.builder().id(1L).email("thairam@email.com").build();
+		Mockito.when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+		
+		usuarioService.obterUsuarioPorId(1L);
+		Optional<Usuario> resultado = usuarioService.obterUsuarioPorId(1L);
+		
+		assertTrue(resultado.isPresent());
+		Mockito.verify(usuarioRepository, Mockito.times(1)).findById(1L);
+	}
+	
+	@Test
+	public void naoDeveGuardarNoCacheUsuarioInexistente() {
+		Mockito.when(usuarioRepository.findById(2L)).thenReturn(Optional.empty());
+		
+		usuarioService.obterUsuarioPorId(2L);
+		usuarioService.obterUsuarioPorId(2L);
+		
+		Mockito.verify(usuarioRepository, Mockito.times(2)).findById(2L);
+	}
+	
+	@Test
+	public void deveInvalidarOCacheAoSalvarUsuario() {
+		Usuario usuario = Usuario.builder().id(3L).email("novo@email.com").senha("senha").build();
+		Mockito.when(usuarioRepository.findById(3L)).thenReturn(Optional.of(usuario));
+		Mockito.when(usuarioRepository.save(usuario)).thenReturn(usuario);
+		
+		usuarioService.obterUsuarioPorId(3L);
+		usuarioService.salvarUsuario(usuario);
+		usuarioService.obterUsuarioPorId(3L);
+		
+		Mockito.verify(usuarioRepository, Mockito.times(2)).findById(3L);
+	}
+}
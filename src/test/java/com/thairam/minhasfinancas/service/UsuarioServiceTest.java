@@ -1,11 +1,14 @@
 package com.thairam.minhasfinancas.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -19,6 +22,8 @@ import com.thairam.minhasfinancas.exceptions.RegraNegocioException;
 import com.thairam.minhasfinancas.messages.UsuarioExceptionMessages;
 import com.thairam.minhasfinancas.model.entity.Usuario;
 import com.thairam.minhasfinancas.model.repository.UsuarioRepository;
+import com.thairam.minhasfinancas.security.LimitadorTentativasAutenticacao;
+import com.thairam.minhasfinancas.service.impl.SenhaServiceImpl;
 import com.thairam.minhasfinancas.service.impl.UsuarioServiceImpl;
 
 @ExtendWith(SpringExtension.class)
@@ -31,9 +36,20 @@ public class UsuarioServiceTest {
 	@MockBean
 	UsuarioRepository usuarioRepository;
 	
+	@SpyBean
+	SenhaServiceImpl senhaService;
+	
+	@SpyBean
+	LimitadorTentativasAutenticacao limitadorTentativas;
+	
 	public String nome = "thairam";
 	public String email = "thairam@email.com";
 	public String senha = "senha";
+	
+	@BeforeEach
+	public void setUp() {
+		limitadorTentativas.registrarSucesso(email);
+	}
 	    
     @Test
     public void deveSalvarUmUsuario() {
@@ -47,7 +63,8 @@ public class UsuarioServiceTest {
         	assertEquals(usuarioSalvo.getId(), 1L);
         	assertEquals(usuarioSalvo.getNome(), nome);
         	assertEquals(usuarioSalvo.getEmail(), email);
-        	assertEquals(usuarioSalvo.getSenha(), senha);
+        	assertNotEquals(usuarioSalvo.getSenha(), senha);
+        	assertTrue(senhaService.verificar(senha, usuarioSalvo.getSenha()));
       });    	
     }
     
@@ -88,6 +105,44 @@ public class UsuarioServiceTest {
         assertEquals(exception.getMessage(), UsuarioExceptionMessages.SENHA_INVALIDA);
      }    
     
+    @Test
+    public void deveCodificarASenhaLegadaEmTextoPuroAoAutenticar() {
+    	Usuario usuario = criarUsuarioComId();
+    	Mockito.when(usuarioRepository.findByEmail(email) ).thenReturn(Optional.of(usuario));
+    	
+    	usuarioService.autenticar(email, senha);
+    	
+    	Mockito.verify(usuarioRepository).atualizarSenha(Mockito.eq(1L), Mockito.eq(email), 
+    			Mockito.argThat(hash -> !hash.equals(senha) && senhaService.verificar(senha, hash)));
+    }
+    
+    @Test
+    public void naoDeveRecodificarUmaSenhaJaCodificada() {
+    	Usuario usuario = criarUsuarioComId();
+    	usuario.setSenha(senhaService.codificar(senha));
+    	Mockito.when(usuarioRepository.findByEmail(email) ).thenReturn(Optional.of(usuario));
+    	
+    	usuarioService.autenticar(email, senha);
+    	usuarioService.autenticar(email, senha);
+    	
+    	Mockito.verify(usuarioRepository, Mockito.never()).atualizarSenha(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+    
+    @Test
+    public void deveBloquearOEmailAposExcederAsTentativasDeAutenticacao() {
+    	Usuario usuario = criarUsuarioComId();
+    	Mockito.when(usuarioRepository.findByEmail(email) ).thenReturn(Optional.of(usuario));
+    	for(int i = 0; i < 5; i++) {
+    		Assertions.catchThrowable( () -> usuarioService.autenticar(email, "senhaNaoCombina") );
+    	}
+    	
+    	Throwable exception = Assertions.catchThrowable( () -> usuarioService.autenticar(email, senha) );
+    	
+    	assertEquals(exception.getClass(), ErroAutenticacao.class);
+    	assertEquals(exception.getMessage(), UsuarioExceptionMessages.TENTATIVAS_EXCEDIDAS);
+    	Mockito.verify(usuarioRepository, Mockito.times(5)).findByEmail(email);
+    }
+    
     @Test
     public void deveValidarEmail() {
        org.junit.jupiter.api.Assertions.assertDoesNotThrow( () -> {